@@ -0,0 +1,34 @@
+package com.leduy8.springbootjava.core;
+
+import com.leduy8.springbootjava.core.exception.GlobalExceptionHandler;
+import com.leduy8.springbootjava.user.exception.UserNotFoundException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Error body construction, measured through a public handler since buildErrorResponse is private.
+ * The exception is built once so its stack trace does not dominate the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GlobalExceptionHandlerBenchmark {
+  private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+  private final UserNotFoundException exception = new UserNotFoundException(1L);
+
+  @Benchmark
+  public ResponseEntity<Map<String, Object>> buildErrorResponse() {
+    return handler.handleUserNotFoundException(exception);
+  }
+}
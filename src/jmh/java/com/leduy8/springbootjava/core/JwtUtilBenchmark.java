@@ -0,0 +1,82 @@
+package com.leduy8.springbootjava.core;
+
+import com.leduy8.springbootjava.core.security.JwtKeyRing;
+import com.leduy8.springbootjava.core.utils.JwtUtil;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token issue and verification. The cached variants hit the claims cache; the uncached ones use a
+ * zero-sized cache, so every call pays for the signature check. {@code liveKeys} shows that the
+ * lookup by {@code kid} costs the same however many keys are live during a rotation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtUtilBenchmark {
+  private static final String EMAIL = "bench@example.com";
+
+  @Param({"1", "16"})
+  public int liveKeys;
+
+  private JwtUtil cached;
+  private JwtUtil uncached;
+  private String cachedToken;
+  private String uncachedToken;
+
+  @Setup
+  public void setUp() {
+    final Map<String, String> secrets = new LinkedHashMap<>();
+    final SecureRandom random = new SecureRandom();
+    for (int i = 0; i < liveKeys; i++) {
+      final byte[] secret = new byte[32];
+      random.nextBytes(secret);
+      secrets.put("key-" + i, Base64.getEncoder().encodeToString(secret));
+    }
+    final JwtKeyRing keyRing = JwtKeyRing.of(secrets, "key-" + (liveKeys - 1));
+    cached = new JwtUtil(keyRing, 10_000);
+    uncached = new JwtUtil(keyRing, 0);
+    cachedToken = cached.generateToken(EMAIL);
+    uncachedToken = uncached.generateToken(EMAIL);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return cached.generateToken(EMAIL);
+  }
+
+  @Benchmark
+  public String extractEmailCached() {
+    return cached.extractEmail(cachedToken);
+  }
+
+  @Benchmark
+  public String extractEmailUncached() {
+    return uncached.extractEmail(uncachedToken);
+  }
+
+  @Benchmark
+  public boolean validateTokenCached() {
+    return cached.validateToken(cachedToken, EMAIL);
+  }
+
+  @Benchmark
+  public boolean validateTokenUncached() {
+    return uncached.validateToken(uncachedToken, EMAIL);
+  }
+}
@@ -0,0 +1,84 @@
+package com.leduy8.springbootjava.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leduy8.springbootjava.core.dto.BaseResponseDTO;
+import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.user.dto.UserResponseDTO;
+import com.leduy8.springbootjava.user.model.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Entity-to-DTO mapping and JSON rendering of user pages, the tail of every list request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserResponseBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int pageSize;
+
+  private User user;
+  private Page<User> page;
+  private PaginatedResponseDTO<UserResponseDTO> response;
+  // Same defaults Spring Boot applies to the ObjectMapper behind the MVC message converter.
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  @Setup
+  public void setUp() {
+    final List<User> users = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      users.add(newUser(i));
+    }
+    user = users.get(0);
+    page = new PageImpl<>(users, PageRequest.of(0, pageSize), 10L * pageSize);
+    response = PaginatedResponseDTO.of(page, UserResponseDTO.class);
+  }
+
+  @Benchmark
+  public UserResponseDTO mapOne() {
+    return BaseResponseDTO.of(user, UserResponseDTO.class);
+  }
+
+  @Benchmark
+  public PaginatedResponseDTO<UserResponseDTO> mapPage() {
+    return PaginatedResponseDTO.of(page, UserResponseDTO.class);
+  }
+
+  @Benchmark
+  public byte[] serializePage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] mapAndSerializePage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(PaginatedResponseDTO.of(page, UserResponseDTO.class));
+  }
+
+  private static User newUser(int i) {
+    final User user =
+        User.builder().name("User " + i).email("user" + i + "@example.com").password("x").build();
+    user.setId((long) i + 1);
+    user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+    user.setUpdatedAt(user.getCreatedAt());
+    return user;
+  }
+}
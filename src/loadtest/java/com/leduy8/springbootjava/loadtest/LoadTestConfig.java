@@ -0,0 +1,32 @@
+package com.leduy8.springbootjava.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/** Load-test settings, read from {@code loadtest.*} system properties. */
+public record LoadTestConfig(
+    int users,
+    double ratePerSecond,
+    Duration warmup,
+    Duration duration,
+    Duration requestTimeout,
+    List<Scenario> scenarios,
+    Path reportDir) {
+
+  public static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        Integer.parseInt(System.getProperty("loadtest.users", "1000")),
+        Double.parseDouble(System.getProperty("loadtest.rate", "10")),
+        Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s")),
+        Duration.parse("PT" + System.getProperty("loadtest.duration", "60s")),
+        Duration.parse("PT" + System.getProperty("loadtest.request-timeout", "30s")),
+        Arrays.stream(
+                System.getProperty("loadtest.scenarios", "login,signup,get-by-id,list").split(","))
+            .map(String::trim)
+            .map(Scenario::fromName)
+            .toList(),
+        Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest")));
+  }
+}
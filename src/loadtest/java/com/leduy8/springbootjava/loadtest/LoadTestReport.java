@@ -0,0 +1,139 @@
+package com.leduy8.springbootjava.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/** Writes the results as report.json, for comparing releases, and report.html, for reading. */
+final class LoadTestReport {
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private LoadTestReport() {}
+
+  static Path write(LoadTestConfig config, Map<Scenario, OpenModelDriver.ScenarioResult> results)
+      throws IOException {
+    Files.createDirectories(config.reportDir());
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("finishedAt", Instant.now().toString());
+    report.put("config", configOf(config));
+    final List<Map<String, Object>> scenarios = new ArrayList<>();
+    results.values().forEach(result -> scenarios.add(summaryOf(result)));
+    report.put("scenarios", scenarios);
+
+    final Path json = config.reportDir().resolve("report.json");
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), report);
+    Files.writeString(config.reportDir().resolve("report.html"), html(config, results));
+    return json;
+  }
+
+  static String table(Map<Scenario, OpenModelDriver.ScenarioResult> results) {
+    final StringBuilder table =
+        new StringBuilder(
+            String.format(
+                "%-10s %9s %7s %9s %9s %9s %9s %9s%n",
+                "scenario",
+                "requests",
+                "errors",
+                "rate/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "max ms"));
+    for (OpenModelDriver.ScenarioResult result : results.values()) {
+      final Histogram h = result.latencyMicros();
+      table.append(
+          String.format(
+              "%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+              result.name(),
+              result.requests(),
+              result.errors(),
+              result.offeredRate(),
+              millis(h.getValueAtPercentile(50)),
+              millis(h.getValueAtPercentile(90)),
+              millis(h.getValueAtPercentile(99)),
+              millis(h.getMaxValue())));
+    }
+    return table.toString();
+  }
+
+  private static Map<String, Object> configOf(LoadTestConfig config) {
+    final Map<String, Object> values = new LinkedHashMap<>();
+    values.put("users", config.users());
+    values.put("ratePerSecondPerScenario", config.ratePerSecond());
+    values.put("warmup", config.warmup().toString());
+    values.put("duration", config.duration().toString());
+    values.put("scenarios", config.scenarios().stream().map(Scenario::getName).toList());
+    return values;
+  }
+
+  private static Map<String, Object> summaryOf(OpenModelDriver.ScenarioResult result) {
+    final Histogram h = result.latencyMicros();
+    final Map<String, Object> latency = new LinkedHashMap<>();
+    latency.put("min", millis(h.getMinValue()));
+    latency.put("mean", millis((long) h.getMean()));
+    for (double percentile : PERCENTILES) {
+      latency.put(
+          "p" + String.valueOf(percentile).replace(".0", ""),
+          millis(h.getValueAtPercentile(percentile)));
+    }
+    latency.put("max", millis(h.getMaxValue()));
+
+    final Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("name", result.name());
+    summary.put("requests", result.requests());
+    summary.put("errors", result.errors());
+    summary.put("offeredRate", result.offeredRate());
+    summary.put("latencyMillis", latency);
+    return summary;
+  }
+
+  private static String html(
+      LoadTestConfig config, Map<Scenario, OpenModelDriver.ScenarioResult> results) {
+    final StringBuilder html = new StringBuilder();
+    html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Load test</title>")
+        .append("<style>body{font-family:sans-serif}td,th{padding:4px 12px;text-align:right}")
+        .append("pre{font-size:12px}</style></head><body><h1>Load test</h1><p>")
+        .append(config.users())
+        .append(" seeded users, ")
+        .append(config.ratePerSecond())
+        .append(" req/s per scenario for ")
+        .append(config.duration())
+        .append(" after a ")
+        .append(config.warmup())
+        .append(" warmup. Latencies are corrected for coordinated omission.</p>")
+        .append("<pre>")
+        .append(table(results))
+        .append("</pre>");
+    for (OpenModelDriver.ScenarioResult result : results.values()) {
+      html.append("<h2>")
+          .append(result.name())
+          .append("</h2><pre>")
+          .append(percentileDistribution(result.latencyMicros()))
+          .append("</pre>");
+    }
+    return html.append("</body></html>").toString();
+  }
+
+  private static String percentileDistribution(Histogram histogram) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // Recorded in microseconds; scaling by 1000 prints the distribution in milliseconds.
+    histogram.outputPercentileDistribution(
+        new PrintStream(out, true, StandardCharsets.UTF_8), 1000.0);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
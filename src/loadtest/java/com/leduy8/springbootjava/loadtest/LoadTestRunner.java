@@ -0,0 +1,104 @@
+package com.leduy8.springbootjava.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leduy8.springbootjava.SpringBootJavaApplication;
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import com.leduy8.springbootjava.user.service.RegisteredEmailFilter;
+import com.leduy8.springbootjava.user.service.UserCountEstimator;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Boots the application on an in-memory database, seeds users, drives open-model load against the
+ * login, signup, get-by-id and list endpoints, and writes a latency report. Run through {@code
+ * ./gradlew loadTest}; program arguments are passed on to the application.
+ */
+public final class LoadTestRunner {
+  private static final int SEED_CHUNK = 1000;
+
+  private LoadTestRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    final LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    try (ConfigurableApplicationContext context =
+            new SpringApplicationBuilder(SpringBootJavaApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final Target target = seed(context, config, clientExecutor);
+      System.out.printf(
+          "Seeded %d users; warming up for %s, then measuring for %s%n",
+          config.users(), config.warmup(), config.duration());
+
+      final Map<Scenario, OpenModelDriver.ScenarioResult> results =
+          new OpenModelDriver(config, clientExecutor).run(config.scenarios(), target);
+      final Path report = LoadTestReport.write(config, results);
+
+      System.out.print(LoadTestReport.table(results));
+      System.out.println("Report: " + report.toAbsolutePath().getParent());
+    }
+  }
+
+  // One shared hash keeps seeding fast; login still pays full bcrypt cost on every request.
+  private static Target seed(
+      ConfigurableApplicationContext context, LoadTestConfig config, ExecutorService executor)
+      throws Exception {
+    final String passwordHash = context.getBean(PasswordEncoder.class).encode(Target.PASSWORD);
+    final UserRepository userRepository = context.getBean(UserRepository.class);
+    final List<String> emails = new ArrayList<>(config.users());
+    final List<Long> ids = new ArrayList<>(config.users());
+
+    for (int from = 0; from < config.users(); from += SEED_CHUNK) {
+      final List<User> chunk = new ArrayList<>();
+      for (int i = from; i < Math.min(from + SEED_CHUNK, config.users()); i++) {
+        chunk.add(
+            User.builder()
+                .name("Load Test " + i)
+                .email("loadtest-user-" + i + "@example.com")
+                .password(passwordHash)
+                .build());
+      }
+      for (User user : userRepository.saveAll(chunk)) {
+        emails.add(user.getEmail());
+        ids.add(user.getId());
+      }
+    }
+    context.getBean(RegisteredEmailFilter.class).rebuild();
+    context.getBean(UserCountEstimator.class).reconcile();
+
+    final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    final URI baseUri = URI.create("http://localhost:" + port);
+    return new Target(baseUri, emails, ids, login(baseUri, emails.get(0), executor));
+  }
+
+  private static String login(URI baseUri, String email, ExecutorService executor)
+      throws Exception {
+    final HttpClient client = HttpClient.newBuilder().executor(executor).build();
+    final HttpResponse<String> response =
+        client.send(
+            HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(
+                    HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, Target.PASSWORD)))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Seed login failed with status " + response.statusCode());
+    }
+    return new ObjectMapper().readTree(response.body()).get("accessToken").asText();
+  }
+}
@@ -0,0 +1,122 @@
+package com.leduy8.springbootjava.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends requests on a fixed schedule whether or not earlier ones have finished, the way real users
+ * arrive. Latency is measured from each request's scheduled send time, so a stalled server is
+ * charged for the requests queued behind the stall instead of hiding them (coordinated omission).
+ */
+final class OpenModelDriver {
+  private final LoadTestConfig config;
+  private final HttpClient client;
+
+  OpenModelDriver(LoadTestConfig config, ExecutorService executor) {
+    this.config = config;
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(config.requestTimeout())
+            .executor(executor)
+            .build();
+  }
+
+  Map<Scenario, ScenarioResult> run(List<Scenario> scenarios, Target target)
+      throws InterruptedException {
+    final Map<Scenario, Tally> tallies = new LinkedHashMap<>();
+    scenarios.forEach(scenario -> tallies.put(scenario, new Tally()));
+
+    final long interval = (long) (TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond());
+    final long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+    final long measureFrom = start + config.warmup().toNanos();
+    final long end = measureFrom + config.duration().toNanos();
+
+    try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+      final List<Thread> pacers = new ArrayList<>();
+      for (int i = 0; i < scenarios.size(); i++) {
+        final Scenario scenario = scenarios.get(i);
+        final Tally tally = tallies.get(scenario);
+        // Stagger the scenarios so their ticks do not all land on the same instant.
+        final long offset = interval * i / scenarios.size();
+        pacers.add(
+            Thread.ofPlatform()
+                .name("loadtest-" + scenario.getName())
+                .start(
+                    () -> {
+                      for (long intended = start + offset; intended < end; intended += interval) {
+                        LockSupport.parkNanos(intended - System.nanoTime());
+                        final long scheduled = intended;
+                        requests.execute(
+                            () -> send(scenario, target, tally, scheduled, measureFrom));
+                      }
+                    }));
+      }
+      for (Thread pacer : pacers) {
+        pacer.join();
+      }
+    }
+
+    final Map<Scenario, ScenarioResult> results = new LinkedHashMap<>();
+    tallies.forEach(
+        (scenario, tally) ->
+            results.put(
+                scenario,
+                new ScenarioResult(
+                    scenario.getName(),
+                    tally.requests.sum(),
+                    tally.errors.sum(),
+                    config.duration(),
+                    tally.latencies.getIntervalHistogram())));
+    return results;
+  }
+
+  private void send(
+      Scenario scenario, Target target, Tally tally, long scheduled, long measureFrom) {
+    boolean failed;
+    try {
+      final HttpResponse<Void> response =
+          client.send(
+              scenario.request(target).timeout(config.requestTimeout()).build(),
+              HttpResponse.BodyHandlers.discarding());
+      failed = response.statusCode() >= 400;
+    } catch (Exception e) {
+      failed = true;
+    }
+    final long latency = System.nanoTime() - scheduled;
+    if (scheduled < measureFrom) {
+      return;
+    }
+    tally.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latency));
+    tally.requests.increment();
+    if (failed) {
+      tally.errors.increment();
+    }
+  }
+
+  record ScenarioResult(
+      String name, long requests, long errors, Duration measured, Histogram latencyMicros) {
+    // Requests sent per second, which the open model keeps fixed however slow the server gets.
+    double offeredRate() {
+      return requests / (measured.toMillis() / 1000.0);
+    }
+  }
+
+  private static final class Tally {
+    private final Recorder latencies = new Recorder(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+  }
+}
@@ -0,0 +1,73 @@
+package com.leduy8.springbootjava.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** One endpoint under load, and how to build its next request. */
+public enum Scenario {
+  LOGIN("login") {
+    @Override
+    HttpRequest.Builder request(Target target) {
+      final int user = ThreadLocalRandom.current().nextInt(target.seededEmails().size());
+      return json(
+          target.uri("/api/auth/login"),
+          "{\"email\":\"%s\",\"password\":\"%s\"}"
+              .formatted(target.seededEmails().get(user), Target.PASSWORD));
+    }
+  },
+  SIGNUP("signup") {
+    @Override
+    HttpRequest.Builder request(Target target) {
+      final long n = SIGNUPS.incrementAndGet();
+      return json(
+          target.uri("/api/users"),
+          "{\"name\":\"Signup %d\",\"email\":\"loadtest-signup-%d@example.com\",\"password\":\"%s\"}"
+              .formatted(n, n, Target.PASSWORD));
+    }
+  },
+  GET_BY_ID("get-by-id") {
+    @Override
+    HttpRequest.Builder request(Target target) {
+      final int user = ThreadLocalRandom.current().nextInt(target.seededIds().size());
+      return target.authorized(target.uri("/api/users/" + target.seededIds().get(user))).GET();
+    }
+  },
+  LIST("list") {
+    @Override
+    HttpRequest.Builder request(Target target) {
+      final int pages = Math.max(1, target.seededIds().size() / 10);
+      final int page = ThreadLocalRandom.current().nextInt(pages) + 1;
+      return target.authorized(target.uri("/api/users?page=" + page + "&size=10")).GET();
+    }
+  };
+
+  private static final AtomicLong SIGNUPS = new AtomicLong();
+
+  private final String name;
+
+  Scenario(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  abstract HttpRequest.Builder request(Target target);
+
+  public static Scenario fromName(String name) {
+    return Arrays.stream(values())
+        .filter(scenario -> scenario.name.equals(name))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + name));
+  }
+
+  private static HttpRequest.Builder json(URI uri, String body) {
+    return HttpRequest.newBuilder(uri)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body));
+  }
+}
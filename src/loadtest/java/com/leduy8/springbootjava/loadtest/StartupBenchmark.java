@@ -0,0 +1,312 @@
+package com.leduy8.springbootjava.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Launches the extracted boot jar in each startup mode, several times, and measures the time from
+ * process launch to the first successful authenticated {@code GET /api/users/{id}}. That read goes
+ * through JPA, so a mode that bootstraps repositories in the background is not ready until they
+ * are; the time to the first health response is reported beside it. Writes startup.json so the
+ * numbers can be tracked across releases. Run through {@code ./gradlew startupBenchmark}; program
+ * arguments are passed on to the application.
+ */
+public final class StartupBenchmark {
+  private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /** How the JVM and application are launched. */
+  enum Mode {
+    JAR("jar", List.of(), List.of()),
+    CDS("cds", List.of("-XX:SharedArchiveFile=application.jsa"), List.of()),
+    CDS_AOT(
+        "cds-aot",
+        List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"),
+        List.of()),
+    FAST_STARTUP(
+        "fast-startup",
+        List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"),
+        List.of("--spring.profiles.active=fast-startup"));
+
+    private final String name;
+    private final List<String> jvmArgs;
+    private final List<String> appArgs;
+
+    Mode(String name, List<String> jvmArgs, List<String> appArgs) {
+      this.name = name;
+      this.jvmArgs = jvmArgs;
+      this.appArgs = appArgs;
+    }
+
+    static Mode fromName(String name) {
+      return Arrays.stream(values())
+          .filter(mode -> mode.name.equals(name))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Unknown startup mode: " + name));
+    }
+  }
+
+  record Run(double firstRequestMillis, double healthMillis, Double startedInMillis) {}
+
+  private StartupBenchmark() {}
+
+  public static void main(String[] args) throws Exception {
+    final Path appDir = Path.of(System.getProperty("startup.app-dir", "build/cds/app"));
+    final String jar = System.getProperty("startup.jar");
+    final int runs = Integer.parseInt(System.getProperty("startup.runs", "5"));
+    final Duration timeout = Duration.parse("PT" + System.getProperty("startup.timeout", "120s"));
+    final String healthPath =
+        System.getProperty("startup.health-path", "/api/startup/check-health");
+    final Path reportDir =
+        Path.of(System.getProperty("startup.report-dir", "build/reports/startup"));
+    final List<Mode> modes =
+        Arrays.stream(
+                System.getProperty("startup.modes", "jar,cds,cds-aot,fast-startup").split(","))
+            .map(String::trim)
+            .map(Mode::fromName)
+            .toList();
+    Files.createDirectories(reportDir);
+
+    final HttpClient client =
+        HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    final Map<Mode, List<Run>> results = new LinkedHashMap<>();
+    for (Mode mode : modes) {
+      final List<Run> modeRuns = new ArrayList<>();
+      for (int i = 0; i < runs; i++) {
+        final Path log = reportDir.resolve(mode.name + "-" + i + ".log");
+        modeRuns.add(launch(appDir, jar, mode, List.of(args), client, healthPath, timeout, log));
+        System.out.printf(
+            "%-13s run %d: %.0f ms (health %.0f ms)%n",
+            mode.name,
+            i + 1,
+            modeRuns.getLast().firstRequestMillis(),
+            modeRuns.getLast().healthMillis());
+      }
+      results.put(mode, modeRuns);
+    }
+
+    final Path report = write(reportDir, runs, results);
+    System.out.print(table(results));
+    System.out.println("Report: " + report.toAbsolutePath());
+  }
+
+  private static Run launch(
+      Path appDir,
+      String jar,
+      Mode mode,
+      List<String> args,
+      HttpClient client,
+      String healthPath,
+      Duration timeout,
+      Path log)
+      throws Exception {
+    final int port = freePort();
+    final List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command().orElse("java"));
+    command.addAll(mode.jvmArgs);
+    command.addAll(List.of("-jar", jar, "--server.port=" + port));
+    command.addAll(mode.appArgs);
+    command.addAll(args);
+    final String baseUrl = "http://localhost:" + port;
+    final HttpRequest probe =
+        HttpRequest.newBuilder(URI.create(baseUrl + healthPath))
+            .timeout(Duration.ofSeconds(1))
+            .GET()
+            .build();
+
+    final long launchedAt = System.nanoTime();
+    final Process process =
+        new ProcessBuilder(command)
+            .directory(appDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    try {
+      final long deadline = launchedAt + timeout.toNanos();
+      while (true) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException(mode.name + " exited early; see " + log);
+        }
+        if (System.nanoTime() > deadline) {
+          throw new IllegalStateException(
+              mode.name + " not ready after " + timeout + "; see " + log);
+        }
+        if (succeeds(client, probe)) {
+          final double healthMillis = (System.nanoTime() - launchedAt) / 1e6;
+          readUser(client, baseUrl, deadline, mode, log);
+          final double firstRequestMillis = (System.nanoTime() - launchedAt) / 1e6;
+          return new Run(firstRequestMillis, healthMillis, startedInMillis(log));
+        }
+        Thread.sleep(POLL_INTERVAL);
+      }
+    } finally {
+      process.destroy();
+      if (!process.waitFor(10, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+
+  private static boolean succeeds(HttpClient client, HttpRequest probe)
+      throws InterruptedException {
+    try {
+      return client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  // Signs up, logs in and reads the user back, each step through JPA. Requests made while
+  // repositories are still bootstrapping wait for them, so each one may take until the deadline.
+  private static void readUser(
+      HttpClient client, String baseUrl, long deadline, Mode mode, Path log) throws Exception {
+    final String email = "startup-probe-" + UUID.randomUUID() + "@example.com";
+    final String password = "startup-probe";
+    final JsonNode user =
+        send(
+            client,
+            json(
+                baseUrl + "/api/users",
+                Map.of("name", "Startup", "email", email, "password", password)),
+            deadline,
+            mode,
+            log);
+    final JsonNode login =
+        send(
+            client,
+            json(baseUrl + "/api/auth/login", Map.of("email", email, "password", password)),
+            deadline,
+            mode,
+            log);
+    send(
+        client,
+        HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + user.get("id").asLong()))
+            .header("Authorization", "Bearer " + login.get("accessToken").asText())
+            .GET(),
+        deadline,
+        mode,
+        log);
+  }
+
+  private static HttpRequest.Builder json(String url, Map<String, String> body) throws IOException {
+    return HttpRequest.newBuilder(URI.create(url))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)));
+  }
+
+  private static JsonNode send(
+      HttpClient client, HttpRequest.Builder request, long deadline, Mode mode, Path log)
+      throws Exception {
+    final long remaining = deadline - System.nanoTime();
+    if (remaining <= 0) {
+      throw new IllegalStateException(mode.name + " not ready before the timeout; see " + log);
+    }
+    final HttpResponse<String> response =
+        client.send(
+            request.timeout(Duration.ofNanos(remaining)).build(),
+            HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(
+          mode.name
+              + " answered "
+              + response.statusCode()
+              + " to "
+              + response.request().uri().getPath()
+              + "; see "
+              + log);
+    }
+    return OBJECT_MAPPER.readTree(response.body());
+  }
+
+  // Spring Boot's own "Started ... in N seconds", which excludes JVM startup, for comparison.
+  private static Double startedInMillis(Path log) throws IOException {
+    final Matcher matcher = STARTED.matcher(Files.readString(log));
+    return matcher.find() ? Double.parseDouble(matcher.group(1)) * 1000 : null;
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static Path write(Path reportDir, int runs, Map<Mode, List<Run>> results)
+      throws IOException {
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("finishedAt", Instant.now().toString());
+    report.put("runsPerMode", runs);
+    final List<Map<String, Object>> modes = new ArrayList<>();
+    results.forEach(
+        (mode, modeRuns) -> {
+          final Map<String, Object> summary = new LinkedHashMap<>();
+          summary.put("name", mode.name);
+          summary.put("jvmArgs", mode.jvmArgs);
+          summary.put("appArgs", mode.appArgs);
+          summary.put("firstRequestMillis", stats(modeRuns, Run::firstRequestMillis));
+          summary.put("healthMillis", stats(modeRuns, Run::healthMillis));
+          summary.put("runs", modeRuns);
+          modes.add(summary);
+        });
+    report.put("modes", modes);
+
+    final Path json = reportDir.resolve("startup.json");
+    OBJECT_MAPPER.writer(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), report);
+    return json;
+  }
+
+  private static String table(Map<Mode, List<Run>> results) {
+    final StringBuilder table =
+        new StringBuilder(
+            String.format(
+                "%-13s %11s %11s %11s %11s%n",
+                "mode", "median ms", "min ms", "max ms", "health ms"));
+    results.forEach(
+        (mode, modeRuns) -> {
+          final Map<String, Double> stats = stats(modeRuns, Run::firstRequestMillis);
+          table.append(
+              String.format(
+                  "%-13s %11.0f %11.0f %11.0f %11.0f%n",
+                  mode.name,
+                  stats.get("median"),
+                  stats.get("min"),
+                  stats.get("max"),
+                  stats(modeRuns, Run::healthMillis).get("median")));
+        });
+    return table.toString();
+  }
+
+  private static Map<String, Double> stats(List<Run> runs, ToDoubleFunction<Run> metric) {
+    final double[] values = runs.stream().mapToDouble(metric).sorted().toArray();
+    final Map<String, Double> stats = new LinkedHashMap<>();
+    stats.put("min", values[0]);
+    stats.put(
+        "median",
+        values.length % 2 == 1
+            ? values[values.length / 2]
+            : (values[values.length / 2 - 1] + values[values.length / 2]) / 2);
+    stats.put("max", values[values.length - 1]);
+    return stats;
+  }
+}
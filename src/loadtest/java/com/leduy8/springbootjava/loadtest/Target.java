@@ -0,0 +1,18 @@
+package com.leduy8.springbootjava.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+
+/** The booted application: where it listens, who is seeded, and a token to call it with. */
+public record Target(URI baseUri, List<String> seededEmails, List<Long> seededIds, String token) {
+  static final String PASSWORD = "loadtest-password";
+
+  URI uri(String path) {
+    return baseUri.resolve(path);
+  }
+
+  HttpRequest.Builder authorized(URI uri) {
+    return HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token);
+  }
+}
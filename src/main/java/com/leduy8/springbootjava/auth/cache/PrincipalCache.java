@@ -0,0 +1,89 @@
+package com.leduy8.springbootjava.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.leduy8.springbootjava.auth.model.AuthenticatedPrincipal;
+import com.leduy8.springbootjava.core.utils.TransactionUtil;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PrincipalCache {
+  private final UserRepository userRepository;
+  private final Cache<String, AuthenticatedPrincipal> cache;
+  // Writers only know the id. Eviction drops the matching entry in the same atomic step, and an
+  // entry left behind by an explicit removal still names the right email.
+  private final Map<Long, String> emailsById = new ConcurrentHashMap<>();
+  private final Timer invalidationTimer;
+
+  public PrincipalCache(
+      UserRepository userRepository,
+      MeterRegistry meterRegistry,
+      @Value("${app.security.principal-cache.maximum-size:10000}") long maximumSize,
+      @Value("${app.security.principal-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+    this.userRepository = userRepository;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .evictionListener(
+                (String email, AuthenticatedPrincipal principal, RemovalCause cause) ->
+                    emailsById.remove(principal.id(), email))
+            .recordStats()
+            .build();
+    this.invalidationTimer =
+        Timer.builder("principal.cache.invalidation")
+            .description("Time spent evicting a principal after its user changed")
+            .register(meterRegistry);
+  }
+
+  /** Returns the active principal for the email, loading it from the database on a miss. */
+  public Optional<AuthenticatedPrincipal> get(String email) {
+    return Optional.ofNullable(
+        cache.get(email, key -> index(userRepository.findPrincipalByEmail(key).orElse(null))));
+  }
+
+  /** Returns the cached principal without loading, for callers that load it themselves. */
+  public AuthenticatedPrincipal getIfPresent(String email) {
+    return cache.getIfPresent(email);
+  }
+
+  public void put(String email, AuthenticatedPrincipal principal) {
+    cache.put(email, index(principal));
+  }
+
+  /**
+   * Evicts the user's principal now and again once the surrounding transaction commits, so a
+   * request racing the write cannot re-populate the cache with the pre-commit row.
+   */
+  public void invalidateById(Long id) {
+    evictById(id);
+    TransactionUtil.afterCommit(() -> evictById(id));
+  }
+
+  public Cache<String, AuthenticatedPrincipal> getCache() {
+    return cache;
+  }
+
+  private AuthenticatedPrincipal index(AuthenticatedPrincipal principal) {
+    if (principal != null) {
+      emailsById.put(principal.id(), principal.email());
+    }
+    return principal;
+  }
+
+  private void evictById(Long id) {
+    final String email = emailsById.remove(id);
+    if (email != null) {
+      invalidationTimer.record(() -> cache.invalidate(email));
+    }
+  }
+}
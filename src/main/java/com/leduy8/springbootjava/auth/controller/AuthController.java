@@ -4,10 +4,12 @@ import com.leduy8.springbootjava.auth.dto.LoginRequestDTO;
 import com.leduy8.springbootjava.auth.dto.LoginResponseDTO;
 import com.leduy8.springbootjava.auth.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
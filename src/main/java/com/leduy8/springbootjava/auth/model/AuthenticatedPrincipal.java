@@ -0,0 +1,3 @@
+package com.leduy8.springbootjava.auth.model;
+
+public record AuthenticatedPrincipal(Long id, String email, String name) {}
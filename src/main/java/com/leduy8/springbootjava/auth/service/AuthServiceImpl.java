@@ -1,8 +1,12 @@
 package com.leduy8.springbootjava.auth.service;
 
+import com.leduy8.springbootjava.auth.exception.InvalidCredentialException;
+import com.leduy8.springbootjava.core.logging.JsonLine;
+import com.leduy8.springbootjava.core.logging.StructuredLog;
 import com.leduy8.springbootjava.core.utils.JwtUtil;
 import com.leduy8.springbootjava.user.model.User;
 import com.leduy8.springbootjava.user.repository.UserRepository;
+import com.leduy8.springbootjava.user.service.RegisteredEmailFilter;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,14 +18,31 @@ public class AuthServiceImpl implements AuthService {
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
   private final JwtUtil jwtUtil;
+  private final RegisteredEmailFilter registeredEmailFilter;
+  private final StructuredLog structuredLog;
 
   public String authenticate(String email, String password) {
+    // Unknown emails, the bulk of credential-stuffing traffic, never reach the database. A signup
+    // on another node can be turned away here until the next filter sync picks it up.
+    if (!registeredEmailFilter.mightContain(email)) {
+      throw loginFailed(email, "unknown_email");
+    }
     final Optional<User> user = userRepository.findByEmail(email);
-
-    if (user.isEmpty() || !passwordEncoder.matches(password, user.get().getPassword())) {
-      throw new RuntimeException("Invalid credentials");
+    if (user.isEmpty()) {
+      registeredEmailFilter.recordFalsePositive();
+      throw loginFailed(email, "unknown_email");
+    }
+    if (!passwordEncoder.matches(password, user.get().getPassword())) {
+      throw loginFailed(email, "bad_password");
     }
 
     return jwtUtil.generateToken(email);
   }
+
+  private InvalidCredentialException loginFailed(String email, String reason) {
+    try (JsonLine line = structuredLog.begin("security")) {
+      line.field("event", "login_failed").field("reason", reason).field("email", email);
+    }
+    return new InvalidCredentialException();
+  }
 }
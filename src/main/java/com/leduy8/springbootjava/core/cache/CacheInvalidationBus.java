@@ -0,0 +1,11 @@
+package com.leduy8.springbootjava.core.cache;
+
+/** Tells the other nodes to drop their second-level cache copy of an entity. */
+public interface CacheInvalidationBus {
+
+  /**
+   * Queues an eviction for the other nodes. Call it inside the writing transaction so the message
+   * commits, or rolls back, with the change.
+   */
+  void publish(Class<?> entityClass, Object id);
+}
@@ -0,0 +1,113 @@
+package com.leduy8.springbootjava.core.cache;
+
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.user.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts evictions through the {@code cache_invalidations} table, which every node polls. Rows
+ * a node wrote itself are skipped, since Hibernate already updated its local cache.
+ */
+@Slf4j
+@Component
+public class JdbcCacheInvalidationBus implements CacheInvalidationBus {
+  // Sequence values can commit out of order, so re-read this many ids below the high-water mark.
+  private static final int REORDER_WINDOW = 100;
+  private static final String USER_ENTITY = User.class.getName();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+  private final PrincipalCache principalCache;
+  private final Duration retention;
+  private final String origin = UUID.randomUUID().toString();
+  private final Set<Long> applied = new HashSet<>();
+  private long highWaterMark = -1;
+
+  public JdbcCacheInvalidationBus(
+      JdbcTemplate jdbcTemplate,
+      EntityManagerFactory entityManagerFactory,
+      PrincipalCache principalCache,
+      @Value("${app.cache.invalidation.retention:1h}") Duration retention) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManagerFactory = entityManagerFactory;
+    this.principalCache = principalCache;
+    this.retention = retention;
+  }
+
+  @Override
+  public void publish(Class<?> entityClass, Object id) {
+    jdbcTemplate.update(
+        "INSERT INTO cache_invalidations (entity_name, entity_id, origin) VALUES (?, ?, ?)",
+        entityClass.getName(),
+        id,
+        origin);
+  }
+
+  /** Applies evictions published by other nodes and returns how many were new. */
+  @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval:1s}")
+  public synchronized int poll() {
+    if (highWaterMark < 0) {
+      // Anything older than this node is already reflected in its empty cache.
+      highWaterMark =
+          jdbcTemplate.queryForObject(
+              "SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class);
+      return 0;
+    }
+
+    final List<Invalidation> invalidations =
+        jdbcTemplate.query(
+            "SELECT id, entity_name, entity_id FROM cache_invalidations"
+                + " WHERE id > ? AND origin <> ? ORDER BY id",
+            (rs, rowNum) ->
+                new Invalidation(
+                    rs.getLong("id"), rs.getString("entity_name"), rs.getLong("entity_id")),
+            highWaterMark - REORDER_WINDOW,
+            origin);
+
+    final SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    int evicted = 0;
+    for (final Invalidation invalidation : invalidations) {
+      if (applied.add(invalidation.id())) {
+        sessionFactory
+            .getCache()
+            .evictEntityData(invalidation.entityName(), invalidation.entityId());
+        // The principal cache holds the same user outside Hibernate; a soft-deleted user must not
+        // stay authenticated here until it expires.
+        if (USER_ENTITY.equals(invalidation.entityName())) {
+          principalCache.invalidateById(invalidation.entityId());
+        }
+        evicted++;
+      }
+      highWaterMark = Math.max(highWaterMark, invalidation.id());
+    }
+    applied.removeIf(id -> id <= highWaterMark - REORDER_WINDOW);
+    if (evicted > 0) {
+      log.debug("Evicted {} entities invalidated by other nodes", evicted);
+    }
+    return evicted;
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.cache.invalidation.retention:1h}",
+      fixedDelayString = "${app.cache.invalidation.retention:1h}")
+  public void purge() {
+    jdbcTemplate.update(
+        "DELETE FROM cache_invalidations WHERE created_at < ?",
+        Timestamp.from(Instant.now().minus(retention)));
+  }
+
+  private record Invalidation(long id, String entityName, long entityId) {}
+}
@@ -0,0 +1,46 @@
+package com.leduy8.springbootjava.core.config;
+
+import com.leduy8.springbootjava.core.jdbc.ConnectionHoldTimeDataSource;
+import com.leduy8.springbootjava.core.jdbc.ConnectionLimitingDataSource;
+import com.leduy8.springbootjava.core.jdbc.StatementInspectingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class DataSourceConfig {
+
+  // Static so the post-processor does not pull this configuration in before other beans exist.
+  @Bean
+  public static BeanPostProcessor connectionHoldTimeDataSourcePostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+    final boolean virtualThreads =
+        environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+            || bean instanceof ConnectionHoldTimeDataSource
+            || bean instanceof ConnectionLimitingDataSource
+            || bean instanceof StatementInspectingDataSource) {
+          return bean;
+        }
+        final DataSource timed =
+            new ConnectionHoldTimeDataSource(
+                new StatementInspectingDataSource(dataSource), meterRegistry::getObject);
+        // Virtual threads are unbounded, so cap concurrent borrowers at the pool size.
+        if (virtualThreads && dataSource instanceof HikariDataSource hikari) {
+          return new ConnectionLimitingDataSource(
+              timed, hikari.getMaximumPoolSize(), Duration.ofMillis(hikari.getConnectionTimeout()));
+        }
+        return timed;
+      }
+    };
+  }
+}
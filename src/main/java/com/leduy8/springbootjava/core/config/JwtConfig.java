@@ -0,0 +1,35 @@
+package com.leduy8.springbootjava.core.config;
+
+import com.leduy8.springbootjava.core.security.JwtKeyRing;
+import java.io.IOException;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class JwtConfig {
+
+  /**
+   * Signing keys shared by every node, from {@code app.jwt.keys} and {@code app.jwt.keys-file}.
+   * Without either, a random key is used, so tokens only verify on the node that issued them and
+   * only until it restarts.
+   */
+  @Bean
+  public JwtKeyRing jwtKeyRing(
+      @Value("${app.jwt.keys:}") String keys,
+      @Value("${app.jwt.keys-file:}") String keysFile,
+      @Value("${app.jwt.signing-key-id:}") String signingKeyId)
+      throws IOException {
+    if (keys.isBlank() && keysFile.isBlank()) {
+      log.warn("No JWT keys configured; tokens will not verify on other nodes or after a restart");
+      return JwtKeyRing.random();
+    }
+    final JwtKeyRing keyRing =
+        JwtKeyRing.load(keys, keysFile.isBlank() ? null : Path.of(keysFile), signingKeyId);
+    log.info("Loaded {} JWT keys, signing with {}", keyRing.size(), keyRing.signingKeyId());
+    return keyRing;
+  }
+}
@@ -1,45 +1,99 @@
 package com.leduy8.springbootjava.core.config;
 
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.auth.model.AuthenticatedPrincipal;
+import com.leduy8.springbootjava.core.logging.JsonLine;
+import com.leduy8.springbootjava.core.logging.StructuredLog;
+import com.leduy8.springbootjava.core.monitoring.MetricTags;
 import com.leduy8.springbootjava.core.utils.JwtUtil;
-import com.leduy8.springbootjava.user.model.User;
-import com.leduy8.springbootjava.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
   private final JwtUtil jwtUtil;
-  private final UserRepository userRepository;
+  private final PrincipalCache principalCache;
+  private final MeterRegistry meterRegistry;
+  private final StructuredLog structuredLog;
 
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain chain)
       throws ServletException, IOException {
+    final long startedAt = System.nanoTime();
     final String authHeader = request.getHeader("Authorization");
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-      chain.doFilter(request, response);
+      proceed(request, response, chain, startedAt, "anonymous");
       return;
     }
 
     final String token = authHeader.substring(7);
-    final String email = jwtUtil.extractEmail(token);
+    final long verifyStartedAt = System.nanoTime();
+    final String email = jwtUtil.verify(token).map(JwtUtil.VerifiedToken::email).orElse(null);
+    final long verifyNanos = System.nanoTime() - verifyStartedAt;
+    String outcome = email == null ? "invalid_token" : "unknown_principal";
     if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      final User user = userRepository.findByEmail(email).orElse(null);
-      if (user != null && jwtUtil.validateToken(token, user.getEmail())) {
+      final AuthenticatedPrincipal principal = principalCache.get(email).orElse(null);
+      if (principal != null) {
         final UsernamePasswordAuthenticationToken authentication =
-            new UsernamePasswordAuthenticationToken(user, null, null);
+            new UsernamePasswordAuthenticationToken(principal, null, null);
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        outcome = "authenticated";
+      }
+    }
+    if (!"authenticated".equals(outcome)
+        && SecurityContextHolder.getContext().getAuthentication() == null) {
+      try (JsonLine line = structuredLog.begin("security")) {
+        line.field("event", "token_rejected")
+            .field("reason", outcome)
+            .field("method", request.getMethod())
+            .field("path", request.getRequestURI())
+            .field("remote", request.getRemoteAddr());
       }
     }
-    chain.doFilter(request, response);
+    try {
+      proceed(request, response, chain, startedAt, outcome);
+    } finally {
+      timer("auth.jwt.verify", request, email == null ? "invalid" : "valid")
+          .record(verifyNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // Only the filter's own work is timed, but the sample is recorded after the chain so the route
+  // the request was dispatched to is known.
+  private void proceed(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain chain,
+      long startedAt,
+      String outcome)
+      throws ServletException, IOException {
+    final long filterNanos = System.nanoTime() - startedAt;
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      timer("auth.jwt.filter", request, outcome).record(filterNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Timer timer(String name, HttpServletRequest request, String outcome) {
+    return Timer.builder(name)
+        .tag(MetricTags.ENDPOINT, MetricTags.endpoint(request))
+        .tag(MetricTags.OUTCOME, outcome)
+        .register(meterRegistry);
   }
 }
@@ -0,0 +1,59 @@
+package com.leduy8.springbootjava.core.config;
+
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.auth.model.AuthenticatedPrincipal;
+import com.leduy8.springbootjava.core.utils.JwtUtil;
+import com.leduy8.springbootjava.user.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactive counterpart of {@link JwtFilter}. It shares the principal cache, but a miss is loaded
+ * over R2DBC so the event loop never blocks.
+ */
+@RequiredArgsConstructor
+public class JwtWebFilter implements WebFilter {
+  private final JwtUtil jwtUtil;
+  private final PrincipalCache principalCache;
+  private final ReactiveUserRepository reactiveUserRepository;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    final String authHeader =
+        exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+      return chain.filter(exchange);
+    }
+
+    final String token = authHeader.substring(7);
+    final String email = jwtUtil.verify(token).map(JwtUtil.VerifiedToken::email).orElse(null);
+    if (email == null) {
+      return chain.filter(exchange);
+    }
+
+    return findPrincipal(email)
+        .map(
+            principal ->
+                ReactiveSecurityContextHolder.withAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, null)))
+        .defaultIfEmpty(Context.empty())
+        .flatMap(context -> chain.filter(exchange).contextWrite(context));
+  }
+
+  private Mono<AuthenticatedPrincipal> findPrincipal(String email) {
+    final AuthenticatedPrincipal cached = principalCache.getIfPresent(email);
+    if (cached != null) {
+      return Mono.just(cached);
+    }
+    return reactiveUserRepository
+        .findPrincipalByEmail(email)
+        .doOnNext(principal -> principalCache.put(email, principal));
+  }
+}
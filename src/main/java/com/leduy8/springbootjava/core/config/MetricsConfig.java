@@ -0,0 +1,61 @@
+package com.leduy8.springbootjava.core.config;
+
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.core.monitoring.MetricTags;
+import com.leduy8.springbootjava.core.utils.JwtUtil;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+  private static final List<String> ENDPOINT_TAGGED_METERS =
+      List.of("service.method", "auth.jwt.", "password.hashing.", "db.");
+
+  /**
+   * Caps the distinct endpoint values each application meter may carry, the same guard Spring
+   * applies to http.server.requests uris. Endpoints are route templates already; this only stops a
+   * future bug from turning raw paths into unbounded series.
+   */
+  @Bean
+  public MeterFilter endpointTagCardinalityLimit(
+      @Value("${app.metrics.max-endpoint-tags:100}") int maxEndpointTags) {
+    final List<MeterFilter> limits =
+        ENDPOINT_TAGGED_METERS.stream()
+            .map(
+                prefix ->
+                    MeterFilter.maximumAllowableTags(
+                        prefix, MetricTags.ENDPOINT, maxEndpointTags, MeterFilter.deny()))
+            .toList();
+    return new MeterFilter() {
+      @Override
+      public MeterFilterReply accept(Meter.Id id) {
+        for (MeterFilter limit : limits) {
+          final MeterFilterReply reply = limit.accept(id);
+          if (reply != MeterFilterReply.NEUTRAL) {
+            return reply;
+          }
+        }
+        return MeterFilterReply.NEUTRAL;
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder jwtClaimsCacheMetrics(JwtUtil jwtUtil) {
+    return registry ->
+        CaffeineCacheMetrics.monitor(registry, jwtUtil.getClaimsCache(), "jwtClaims");
+  }
+
+  @Bean
+  public MeterBinder principalCacheMetrics(PrincipalCache principalCache) {
+    return registry ->
+        CaffeineCacheMetrics.monitor(registry, principalCache.getCache(), "principals");
+  }
+}
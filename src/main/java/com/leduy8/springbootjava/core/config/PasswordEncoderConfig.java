@@ -0,0 +1,42 @@
+package com.leduy8.springbootjava.core.config;
+
+import com.leduy8.springbootjava.core.security.BcryptStrengthCalibrator;
+import com.leduy8.springbootjava.core.security.HashingPasswordEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+  /**
+   * bcrypt on a dedicated pool sized to the cores. A strength of 0 calibrates the cost against the
+   * latency budget at startup.
+   */
+  @Bean
+  public HashingPasswordEncoder passwordEncoder(
+      MeterRegistry meterRegistry,
+      @Value("${app.security.password-hashing.strength:0}") int strength,
+      @Value("${app.security.password-hashing.latency-budget:250ms}") Duration latencyBudget,
+      @Value("${app.security.password-hashing.min-strength:10}") int minStrength,
+      @Value("${app.security.password-hashing.max-strength:14}") int maxStrength,
+      @Value("${app.security.password-hashing.threads:0}") int threads,
+      @Value("${app.security.password-hashing.queue-capacity:256}") int queueCapacity) {
+    final int cost =
+        strength > 0
+            ? strength
+            : BcryptStrengthCalibrator.calibrate(latencyBudget, minStrength, maxStrength);
+    Gauge.builder("password.hashing.strength", () -> cost)
+        .description("bcrypt cost used for new password hashes")
+        .register(meterRegistry);
+    return new HashingPasswordEncoder(
+        new BCryptPasswordEncoder(cost),
+        threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+        queueCapacity,
+        meterRegistry);
+  }
+}
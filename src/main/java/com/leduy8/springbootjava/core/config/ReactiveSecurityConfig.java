@@ -0,0 +1,56 @@
+package com.leduy8.springbootjava.core.config;
+
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.core.utils.JwtUtil;
+import com.leduy8.springbootjava.user.repository.ReactiveUserRepository;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+  @Bean
+  public SecurityWebFilterChain securityWebFilterChain(
+      ServerHttpSecurity http,
+      JwtUtil jwtUtil,
+      PrincipalCache principalCache,
+      ReactiveUserRepository reactiveUserRepository) {
+    // Same rules as the servlet chain: stateless, and a missing token is a 403.
+    return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+        .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+        .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+        .logout(ServerHttpSecurity.LogoutSpec::disable)
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+        .exceptionHandling(
+            exceptions ->
+                exceptions.authenticationEntryPoint(
+                    new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+        .authorizeExchange(
+            exchanges ->
+                exchanges
+                    .pathMatchers("/api/startup/**")
+                    .permitAll()
+                    .matchers(
+                        EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                    .permitAll()
+                    .anyExchange()
+                    .authenticated())
+        .addFilterAt(
+            new JwtWebFilter(jwtUtil, principalCache, reactiveUserRepository),
+            SecurityWebFiltersOrder.AUTHENTICATION)
+        .build();
+  }
+}
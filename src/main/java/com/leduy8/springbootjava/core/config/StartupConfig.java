@@ -0,0 +1,32 @@
+package com.leduy8.springbootjava.core.config;
+
+import java.lang.reflect.Method;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+
+@Configuration
+public class StartupConfig {
+
+  /**
+   * Keeps controllers, and through them everything a request touches, plus scheduled jobs eager
+   * when {@code spring.main.lazy-initialization} is on, as it is in the fast-startup profile. Only
+   * beans off the request path, such as actuator endpoints, wait for first use. Unconditional so
+   * Spring AOT, which fixes profiles at build time, keeps it.
+   */
+  @Bean
+  static LazyInitializationExcludeFilter hotPathBeans() {
+    return (beanName, beanDefinition, beanType) ->
+        AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+            || !MethodIntrospector.selectMethods(
+                    beanType,
+                    (MethodIntrospector.MetadataLookup<Scheduled>)
+                        (Method method) ->
+                            AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class))
+                .isEmpty();
+  }
+}
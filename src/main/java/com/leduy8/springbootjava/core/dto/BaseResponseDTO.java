@@ -1,17 +1,13 @@
 package com.leduy8.springbootjava.core.dto;
 
+import com.leduy8.springbootjava.core.mapper.DtoMapperRegistry;
+
 public abstract class BaseResponseDTO<E> {
   public BaseResponseDTO() {}
 
   public abstract void mapFromEntity(E entity);
 
-  public static <E, D extends BaseResponseDTO<E>> D of(E entity, Class<D> dtoClass) {
-    try {
-      final D dto = dtoClass.getDeclaredConstructor().newInstance();
-      dto.mapFromEntity(entity);
-      return dto;
-    } catch (Exception e) {
-      throw new RuntimeException("Failed to create DTO instance", e);
-    }
+  public static <E, D> D of(E entity, Class<D> dtoClass) {
+    return DtoMapperRegistry.map(entity, dtoClass);
   }
 }
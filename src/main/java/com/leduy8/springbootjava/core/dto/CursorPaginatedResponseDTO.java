@@ -0,0 +1,25 @@
+package com.leduy8.springbootjava.core.dto;
+
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public class CursorPaginatedResponseDTO<T> {
+  private final List<T> data;
+  private final int pageSize;
+  private final String nextCursor;
+  private final boolean isLastPage;
+
+  private CursorPaginatedResponseDTO(
+      List<T> data, int pageSize, String nextCursor, boolean isLastPage) {
+    this.data = data;
+    this.pageSize = pageSize;
+    this.nextCursor = nextCursor;
+    this.isLastPage = isLastPage;
+  }
+
+  public static <D> CursorPaginatedResponseDTO<D> of(
+      List<D> data, int pageSize, String nextCursor) {
+    return new CursorPaginatedResponseDTO<>(data, pageSize, nextCursor, nextCursor == null);
+  }
+}
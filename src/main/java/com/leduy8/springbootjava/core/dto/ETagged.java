@@ -0,0 +1,4 @@
+package com.leduy8.springbootjava.core.dto;
+
+/** A response body and the ETag computed from the same rows, so the two can never disagree. */
+public record ETagged<T>(T body, String etag) {}
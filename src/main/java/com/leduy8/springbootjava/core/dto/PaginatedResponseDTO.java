@@ -1,24 +1,33 @@
 package com.leduy8.springbootjava.core.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.leduy8.springbootjava.core.mapper.DtoMapperRegistry;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @Getter
-public class PaginatedResponseDTO<T extends BaseResponseDTO<?>> {
+public class PaginatedResponseDTO<T> {
   private final List<T> data;
   private final int currentPage;
-  private final int totalPages;
-  private final long totalItems;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private final Integer totalPages;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private final Long totalItems;
+
   private final int pageSize;
   private final boolean isLastPage;
 
   private PaginatedResponseDTO(
       List<T> data,
       int currentPage,
-      int totalPages,
-      long totalItems,
+      Integer totalPages,
+      Long totalItems,
       int pageSize,
       boolean isLastPage) {
     this.data = data;
@@ -29,19 +38,66 @@ public class PaginatedResponseDTO<T extends BaseResponseDTO<?>> {
     this.isLastPage = isLastPage;
   }
 
-  public static <E, D extends BaseResponseDTO<E>> PaginatedResponseDTO<D> of(
-      Page<E> page, Class<D> dtoClass) {
-    final List<D> dtoList =
-        page.getContent().stream()
-            .map(entity -> BaseResponseDTO.of(entity, dtoClass))
-            .collect(Collectors.toList());
+  public static <E, D> PaginatedResponseDTO<D> of(Page<E> page, Class<D> dtoClass) {
+    return withTotals(page, DtoMapperRegistry.mapAll(page.getContent(), dtoClass));
+  }
+
+  public static <E, D> PaginatedResponseDTO<D> of(Page<E> page, Function<? super E, D> mapper) {
+    return withTotals(page, mapContent(page, mapper));
+  }
+
+  /** Builds a page without totals, for callers that skipped the count query. */
+  public static <E, D> PaginatedResponseDTO<D> of(Slice<E> slice, Class<D> dtoClass) {
+    return withoutTotals(slice, DtoMapperRegistry.mapAll(slice.getContent(), dtoClass));
+  }
+
+  public static <E, D> PaginatedResponseDTO<D> of(Slice<E> slice, Function<? super E, D> mapper) {
+    return withoutTotals(slice, mapContent(slice, mapper));
+  }
+
+  /** Builds a page whose totals come from an estimate rather than a count query. */
+  public static <E, D> PaginatedResponseDTO<D> of(
+      Slice<E> slice, long estimatedTotalItems, Class<D> dtoClass) {
+    return withEstimatedTotals(
+        slice, estimatedTotalItems, DtoMapperRegistry.mapAll(slice.getContent(), dtoClass));
+  }
 
+  public static <E, D> PaginatedResponseDTO<D> of(
+      Slice<E> slice, long estimatedTotalItems, Function<? super E, D> mapper) {
+    return withEstimatedTotals(slice, estimatedTotalItems, mapContent(slice, mapper));
+  }
+
+  private static <D> PaginatedResponseDTO<D> withTotals(Page<?> page, List<D> data) {
     return new PaginatedResponseDTO<>(
-        dtoList,
+        data,
         page.getNumber() + 1, // Spring Page is 0-based
         page.getTotalPages(),
         page.getTotalElements(),
         page.getSize(),
         page.isLast());
   }
+
+  private static <D> PaginatedResponseDTO<D> withoutTotals(Slice<?> slice, List<D> data) {
+    return new PaginatedResponseDTO<>(
+        data, slice.getNumber() + 1, null, null, slice.getSize(), slice.isLast());
+  }
+
+  private static <D> PaginatedResponseDTO<D> withEstimatedTotals(
+      Slice<?> slice, long estimatedTotalItems, List<D> data) {
+    // Never report fewer items than this slice proves exist.
+    final long seenItems =
+        slice.getPageable().isPaged()
+            ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+            : slice.getNumberOfElements();
+    final long totalItems = Math.max(estimatedTotalItems, seenItems + (slice.hasNext() ? 1 : 0));
+    final int totalPages =
+        slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalItems / slice.getSize());
+
+    return new PaginatedResponseDTO<>(
+        data, slice.getNumber() + 1, totalPages, totalItems, slice.getSize(), slice.isLast());
+  }
+
+  private static <E, D> List<D> mapContent(Slice<E> slice, Function<? super E, D> mapper) {
+    return slice.getContent().stream().map(mapper).collect(Collectors.toList());
+  }
 }
@@ -0,0 +1,21 @@
+package com.leduy8.springbootjava.core.dto;
+
+import com.leduy8.springbootjava.core.exception.InvalidRequestParameterException;
+import java.util.Arrays;
+
+/** How a paginated listing reports its total item count. */
+public enum TotalMode {
+  /** Runs a {@code count(*)} alongside every page. */
+  EXACT,
+  /** Uses a maintained estimate instead of counting. */
+  ESTIMATED,
+  /** Skips totals and only reports whether this is the last page. */
+  NONE;
+
+  public static TotalMode fromValue(String value) {
+    return Arrays.stream(values())
+        .filter(mode -> mode.name().equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(() -> new InvalidRequestParameterException("totalMode"));
+  }
+}
@@ -0,0 +1,8 @@
+package com.leduy8.springbootjava.core.exception;
+
+public class DtoMappingException extends RuntimeException {
+  public DtoMappingException(Class<?> sourceClass, Class<?> dtoClass, Throwable cause) {
+    super(
+        "Cannot map " + sourceClass.getName() + " to " + dtoClass.getName() + ": " + cause, cause);
+  }
+}
@@ -1,6 +1,8 @@
 package com.leduy8.springbootjava.core.exception;
 
 import com.leduy8.springbootjava.auth.exception.InvalidCredentialException;
+import com.leduy8.springbootjava.core.utils.DataAccessUtil;
+import com.leduy8.springbootjava.user.exception.EmailAlreadyExistsException;
 import com.leduy8.springbootjava.user.exception.UserNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
@@ -8,6 +10,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -16,15 +20,39 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
-
   @ExceptionHandler(UserNotFoundException.class)
   public ResponseEntity<Map<String, Object>> handleUserNotFoundException(UserNotFoundException ex) {
     return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage());
   }
 
+  @ExceptionHandler(EmailAlreadyExistsException.class)
+  public ResponseEntity<Map<String, Object>> handleEmailAlreadyExistsException(
+      EmailAlreadyExistsException ex) {
+    return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+  }
+
+  // A unique constraint that still fires is a conflict with another writer, not a server fault.
+  // NOT NULL, length and foreign-key violations are bugs, so they stay on the generic path.
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(
+      DataIntegrityViolationException ex) {
+    if (!DataAccessUtil.isUniqueViolation(ex)) {
+      return handleGenericException(ex);
+    }
+    return buildErrorResponse(HttpStatus.CONFLICT, "The request conflicts with existing data.");
+  }
+
+  // Another writer committed between this request's read and its versioned UPDATE.
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex) {
+    return buildErrorResponse(HttpStatus.CONFLICT, "The resource was modified concurrently.");
+  }
+
   @ExceptionHandler(InvalidCredentialException.class)
   public ResponseEntity<Map<String, Object>> handleInvalidCredentialException(
       InvalidCredentialException ex) {
@@ -63,12 +91,36 @@ public class GlobalExceptionHandler {
         HttpStatus.BAD_REQUEST, "Invalid value for parameter: " + ex.getName());
   }
 
+  @ExceptionHandler(InvalidRequestParameterException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidRequestParameterException(
+      InvalidRequestParameterException ex) {
+    return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<Map<String, Object>> handlePreconditionFailedException(
+      PreconditionFailedException ex) {
+    return buildErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+  }
+
+  @ExceptionHandler(PasswordHashingUnavailableException.class)
+  public ResponseEntity<Map<String, Object>> handlePasswordHashingUnavailableException(
+      PasswordHashingUnavailableException ex) {
+    return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+  }
+
   @ExceptionHandler(ConstraintViolationException.class)
   public ResponseEntity<Map<String, Object>> handleConstraintViolationException(
       ConstraintViolationException ex) {
     return buildErrorResponse(HttpStatus.BAD_REQUEST, "Validation error: " + ex.getMessage());
   }
 
+  @ExceptionHandler(ResponseStatusException.class)
+  public ResponseEntity<Map<String, Object>> handleResponseStatusException(
+      ResponseStatusException ex) {
+    return buildErrorResponse(HttpStatus.valueOf(ex.getStatusCode().value()), ex.getReason());
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
     return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.");
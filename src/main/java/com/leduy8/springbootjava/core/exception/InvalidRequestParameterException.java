@@ -0,0 +1,7 @@
+package com.leduy8.springbootjava.core.exception;
+
+public class InvalidRequestParameterException extends RuntimeException {
+  public InvalidRequestParameterException(String parameterName) {
+    super("Invalid value for parameter: " + parameterName);
+  }
+}
@@ -0,0 +1,7 @@
+package com.leduy8.springbootjava.core.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+  public PasswordHashingUnavailableException() {
+    super("Too many password checks in progress, please retry shortly.");
+  }
+}
@@ -0,0 +1,7 @@
+package com.leduy8.springbootjava.core.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+  public PreconditionFailedException() {
+    super("The resource has changed since it was read; fetch it again and retry.");
+  }
+}
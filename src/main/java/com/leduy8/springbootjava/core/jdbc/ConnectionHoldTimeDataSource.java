@@ -0,0 +1,81 @@
+package com.leduy8.springbootjava.core.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times how long each borrowed connection stays out of the pool, tagged with the service method
+ * that borrowed it.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+  public static final String METRIC_NAME = "db.connection.hold";
+
+  private final Supplier<MeterRegistry> meterRegistry;
+
+  public ConnectionHoldTimeDataSource(DataSource target, Supplier<MeterRegistry> meterRegistry) {
+    super(target);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return track(obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return track(obtainTargetDataSource().getConnection(username, password));
+  }
+
+  private Connection track(Connection connection) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new HoldTimeHandler(connection, ServiceMethodContext.current(), System.nanoTime()));
+  }
+
+  private final class HoldTimeHandler implements InvocationHandler {
+    private final Connection target;
+    private final String method;
+    private final long borrowedAt;
+    private boolean closed;
+
+    private HoldTimeHandler(Connection target, String method, long borrowedAt) {
+      this.target = target;
+      this.method = method;
+      this.borrowedAt = borrowedAt;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method invoked, Object[] args) throws Throwable {
+      if (invoked.getName().equals("close") && !closed) {
+        closed = true;
+        record();
+      }
+      try {
+        return invoked.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+
+    private void record() {
+      Timer.builder(METRIC_NAME)
+          .description("Time a JDBC connection is held before it returns to the pool")
+          .tag("method", method)
+          .register(meterRegistry.get())
+          .record(System.nanoTime() - borrowedAt, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.leduy8.springbootjava.core.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Lets at most as many threads ask for a connection as the pool can hand out, so a flood of virtual
+ * threads waits on a cheap semaphore instead of piling into the pool itself.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+  private final Semaphore permits;
+  private final Duration acquireTimeout;
+
+  public ConnectionLimitingDataSource(DataSource target, int maxConnections, Duration timeout) {
+    super(target);
+    this.permits = new Semaphore(maxConnections, true);
+    this.acquireTimeout = timeout;
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return limit(obtainTargetDataSource().getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return limit(obtainTargetDataSource().getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException(
+            "No connection permit available after " + acquireTimeout.toMillis() + " ms");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+    }
+  }
+
+  private Connection limit(Connection connection) {
+    final AtomicBoolean released = new AtomicBoolean();
+    final InvocationHandler handler =
+        (Object proxy, Method method, Object[] args) -> {
+          if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+            permits.release();
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+          }
+        };
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, handler);
+  }
+}
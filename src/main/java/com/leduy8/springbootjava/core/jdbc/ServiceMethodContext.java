@@ -0,0 +1,30 @@
+package com.leduy8.springbootjava.core.jdbc;
+
+/** Remembers which service method the current thread is running, for per-method JDBC metrics. */
+public final class ServiceMethodContext {
+  public static final String NONE = "none";
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private ServiceMethodContext() {}
+
+  public static String current() {
+    final String method = CURRENT.get();
+    return method != null ? method : NONE;
+  }
+
+  /** Sets the method unless an outer service call already owns the thread; returns the previous. */
+  static String enter(String method) {
+    final String previous = CURRENT.get();
+    if (previous == null) {
+      CURRENT.set(method);
+    }
+    return previous;
+  }
+
+  static void exit(String previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.leduy8.springbootjava.core.jdbc;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class ServiceMethodTrackingAspect {
+
+  @Around("@within(org.springframework.stereotype.Service)")
+  public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+    final String method =
+        joinPoint.getSignature().getDeclaringType().getSimpleName()
+            + "."
+            + joinPoint.getSignature().getName();
+    final String previous = ServiceMethodContext.enter(method);
+    try {
+      return joinPoint.proceed();
+    } finally {
+      ServiceMethodContext.exit(previous);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.leduy8.springbootjava.core.jdbc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Statements one sampled request ran, grouped by normalized SQL. Bound to the request thread by
+ * {@link #start()}; statements on other threads or outside a sampled request are not recorded.
+ */
+public final class SqlInspection {
+  private static final ThreadLocal<SqlInspection> CURRENT = new ThreadLocal<>();
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final Map<String, Statement> statements = new LinkedHashMap<>();
+  private int count;
+  private long nanos;
+
+  private SqlInspection() {}
+
+  public static SqlInspection start() {
+    final SqlInspection inspection = new SqlInspection();
+    CURRENT.set(inspection);
+    return inspection;
+  }
+
+  public static void finish() {
+    CURRENT.remove();
+  }
+
+  /** The inspection for this thread's request, or null when the request is not sampled. */
+  public static SqlInspection current() {
+    return CURRENT.get();
+  }
+
+  synchronized void record(String sql, long elapsedNanos) {
+    final Statement statement =
+        statements.computeIfAbsent(normalize(sql), normalized -> new Statement(normalized));
+    statement.count++;
+    statement.nanos += elapsedNanos;
+    statement.methods.add(ServiceMethodContext.current());
+    count++;
+    nanos += elapsedNanos;
+  }
+
+  public int count() {
+    return count;
+  }
+
+  public long nanos() {
+    return nanos;
+  }
+
+  /** The most expensive statements first. */
+  public synchronized List<Statement> statements() {
+    final List<Statement> sorted = new ArrayList<>(statements.values());
+    sorted.sort(Comparator.comparingLong(Statement::nanos).reversed());
+    return sorted;
+  }
+
+  /** Collapses literals and IN lists so repeats of one query shape group together. */
+  public static String normalize(String sql) {
+    String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+    normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+    normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+    return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+  }
+
+  public static final class Statement {
+    private final String sql;
+    private final Set<String> methods = new LinkedHashSet<>();
+    private int count;
+    private long nanos;
+
+    private Statement(String sql) {
+      this.sql = sql;
+    }
+
+    public String sql() {
+      return sql;
+    }
+
+    public int count() {
+      return count;
+    }
+
+    public long nanos() {
+      return nanos;
+    }
+
+    /** The outermost service methods that ran this statement. */
+    public Set<String> methods() {
+      return methods;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.leduy8.springbootjava.core.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every statement executed on connections borrowed during a sampled request and records it in
+ * that request's {@link SqlInspection}. Connections borrowed anywhere else are returned as is.
+ */
+public class StatementInspectingDataSource extends DelegatingDataSource {
+
+  public StatementInspectingDataSource(DataSource target) {
+    super(target);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return inspect(obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return inspect(obtainTargetDataSource().getConnection(username, password));
+  }
+
+  private static Connection inspect(Connection connection) {
+    final SqlInspection inspection = SqlInspection.current();
+    if (inspection == null) {
+      return connection;
+    }
+    return proxy(Connection.class, new ConnectionHandler(connection, inspection));
+  }
+
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  private static Object invoke(Object target, Method invoked, Object[] args) throws Throwable {
+    try {
+      return invoked.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  private record ConnectionHandler(Connection target, SqlInspection inspection)
+      implements InvocationHandler {
+    @Override
+    public Object invoke(Object proxy, Method invoked, Object[] args) throws Throwable {
+      final Object result = StatementInspectingDataSource.invoke(target, invoked, args);
+      if (!(result instanceof Statement)) {
+        return result;
+      }
+      // prepareStatement and prepareCall fix the SQL up front; createStatement passes it later.
+      final String sql =
+          args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+      return proxy(
+          invoked.getReturnType(), new StatementHandler((Statement) result, sql, inspection));
+    }
+  }
+
+  private record StatementHandler(Statement target, String preparedSql, SqlInspection inspection)
+      implements InvocationHandler {
+    @Override
+    public Object invoke(Object proxy, Method invoked, Object[] args) throws Throwable {
+      if (!invoked.getName().startsWith("execute")) {
+        return StatementInspectingDataSource.invoke(target, invoked, args);
+      }
+      final String sql =
+          args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+      final long startedAt = System.nanoTime();
+      try {
+        return StatementInspectingDataSource.invoke(target, invoked, args);
+      } finally {
+        inspection.record(sql != null ? sql : "<batch>", System.nanoTime() - startedAt);
+      }
+    }
+  }
+}
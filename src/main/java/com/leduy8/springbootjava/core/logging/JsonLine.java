@@ -0,0 +1,178 @@
+package com.leduy8.springbootjava.core.logging;
+
+/**
+ * One structured log record, written as a single JSON object straight into a reused ring-buffer
+ * slot. Obtained from {@link StructuredLog#begin}; closing it hands the record to the writer, so
+ * always use it in a try-with-resources block. Records the buffer had no room for are discarded
+ * silently by every method.
+ */
+public final class JsonLine implements AutoCloseable {
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  final StringBuilder text;
+  private final LogRingBuffer ring;
+  private final boolean discard;
+  long position;
+  private boolean needsComma;
+
+  JsonLine(LogRingBuffer ring, int initialCapacity) {
+    this.text = new StringBuilder(initialCapacity);
+    this.ring = ring;
+    this.discard = false;
+  }
+
+  private JsonLine() {
+    this.text = null;
+    this.ring = null;
+    this.discard = true;
+  }
+
+  static JsonLine discarded() {
+    return new JsonLine();
+  }
+
+  JsonLine start(long timestampMillis, String type) {
+    text.setLength(0);
+    text.append('{');
+    needsComma = false;
+    return field("ts", timestampMillis).field("type", type);
+  }
+
+  public JsonLine field(String name, String value) {
+    if (discard) {
+      return this;
+    }
+    name(name);
+    string(value);
+    return this;
+  }
+
+  public JsonLine field(String name, long value) {
+    if (discard) {
+      return this;
+    }
+    name(name);
+    text.append(value);
+    return this;
+  }
+
+  public JsonLine field(String name, boolean value) {
+    if (discard) {
+      return this;
+    }
+    name(name);
+    text.append(value);
+    return this;
+  }
+
+  /** Writes a duration as milliseconds with microsecond precision, without boxing a double. */
+  public JsonLine millis(String name, long nanos) {
+    if (discard) {
+      return this;
+    }
+    name(name);
+    final long micros = Math.max(0, nanos) / 1_000;
+    final long fraction = micros % 1_000;
+    text.append(micros / 1_000).append('.');
+    if (fraction < 100) {
+      text.append(fraction < 10 ? "00" : "0");
+    }
+    text.append(fraction);
+    return this;
+  }
+
+  public JsonLine beginArray(String name) {
+    if (discard) {
+      return this;
+    }
+    name(name);
+    text.append('[');
+    needsComma = false;
+    return this;
+  }
+
+  public JsonLine endArray() {
+    if (discard) {
+      return this;
+    }
+    text.append(']');
+    needsComma = true;
+    return this;
+  }
+
+  public JsonLine beginObject() {
+    if (discard) {
+      return this;
+    }
+    separate();
+    text.append('{');
+    needsComma = false;
+    return this;
+  }
+
+  public JsonLine endObject() {
+    if (discard) {
+      return this;
+    }
+    text.append('}');
+    needsComma = true;
+    return this;
+  }
+
+  /** Appends a string element to the enclosing array. */
+  public JsonLine value(String value) {
+    if (discard) {
+      return this;
+    }
+    separate();
+    string(value);
+    return this;
+  }
+
+  @Override
+  public void close() {
+    if (!discard) {
+      text.append('}');
+      ring.publish(this);
+    }
+  }
+
+  private void name(String name) {
+    separate();
+    string(name);
+    text.append(':');
+  }
+
+  private void separate() {
+    if (needsComma) {
+      text.append(',');
+    }
+    needsComma = true;
+  }
+
+  private void string(String value) {
+    if (value == null) {
+      text.append("null");
+      return;
+    }
+    text.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      switch (c) {
+        case '"' -> text.append("\\\"");
+        case '\\' -> text.append("\\\\");
+        case '\n' -> text.append("\\n");
+        case '\r' -> text.append("\\r");
+        case '\t' -> text.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            text.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+          } else {
+            text.append(c);
+          }
+        }
+      }
+    }
+    text.append('"');
+  }
+}
@@ -0,0 +1,79 @@
+package com.leduy8.springbootjava.core.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring of preallocated {@link JsonLine} slots for many producers and one
+ * consumer, after Dmitry Vyukov's bounded MPMC queue. Each slot carries a sequence number: a
+ * producer may claim slot {@code p} when its sequence is {@code p}, publishes it by setting {@code
+ * p + 1}, and the consumer frees it for the next lap by setting {@code p + capacity}.
+ */
+final class LogRingBuffer {
+  private final JsonLine[] slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  LogRingBuffer(int capacity, int initialRecordCapacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity must be a power of two, got " + capacity);
+    }
+    this.slots = new JsonLine[capacity];
+    this.sequences = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+    for (int i = 0; i < capacity; i++) {
+      slots[i] = new JsonLine(this, initialRecordCapacity);
+      sequences.set(i, i);
+    }
+  }
+
+  /** Claims the next free slot, or returns null when the consumer is a whole lap behind. */
+  JsonLine claim() {
+    long position = tail.get();
+    while (true) {
+      final int index = (int) (position & mask);
+      final long available = sequences.getAcquire(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          final JsonLine slot = slots[index];
+          slot.position = position;
+          return slot;
+        }
+        position = tail.get();
+      } else if (available < 0) {
+        return null;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  void publish(JsonLine slot) {
+    sequences.setRelease((int) (slot.position & mask), slot.position + 1);
+  }
+
+  /** The oldest published record, or null if the next one is not published yet. Consumer only. */
+  JsonLine peek() {
+    final long position = head.get();
+    final int index = (int) (position & mask);
+    return sequences.getAcquire(index) == position + 1 ? slots[index] : null;
+  }
+
+  /** Frees the slot {@link #peek} returned. Consumer only. */
+  void release() {
+    final long position = head.get();
+    sequences.setRelease((int) (position & mask), position + slots.length);
+    head.lazySet(position + 1);
+  }
+
+  /** Claimed records not yet released; approximate while producers are active. */
+  int size() {
+    return (int) Math.max(0, tail.get() - head.get());
+  }
+
+  int capacity() {
+    return slots.length;
+  }
+}
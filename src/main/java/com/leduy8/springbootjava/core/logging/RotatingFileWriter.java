@@ -0,0 +1,117 @@
+package com.leduy8.springbootjava.core.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends lines to a file through one direct buffer, encoding UTF-8 by hand so no per-line byte
+ * arrays are allocated. When the file passes its size limit it becomes {@code name.1.ext}, older
+ * files shift up, and the oldest beyond {@code maxFiles} is deleted. Not thread-safe: only the
+ * writer thread uses it.
+ */
+final class RotatingFileWriter implements AutoCloseable {
+  private final Path file;
+  private final long maxFileSize;
+  private final int maxFiles;
+  private final ByteBuffer buffer;
+  private FileChannel channel;
+  private long size;
+
+  RotatingFileWriter(Path file, long maxFileSize, int maxFiles, int bufferSize) throws IOException {
+    this.file = file.toAbsolutePath();
+    this.maxFileSize = maxFileSize;
+    this.maxFiles = maxFiles;
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    Files.createDirectories(this.file.getParent());
+    open();
+  }
+
+  /** Buffers one line; it reaches the file on a later {@link #flush}. */
+  void append(CharSequence line) throws IOException {
+    for (int i = 0; i < line.length(); i++) {
+      if (buffer.remaining() < 4) {
+        flush();
+      }
+      final char c = line.charAt(i);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xc0 | c >> 6)).put((byte) (0x80 | c & 0x3f));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < line.length()
+          && Character.isLowSurrogate(line.charAt(i + 1))) {
+        final int codePoint = Character.toCodePoint(c, line.charAt(++i));
+        buffer
+            .put((byte) (0xf0 | codePoint >> 18))
+            .put((byte) (0x80 | codePoint >> 12 & 0x3f))
+            .put((byte) (0x80 | codePoint >> 6 & 0x3f))
+            .put((byte) (0x80 | codePoint & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        buffer.put((byte) '?');
+      } else {
+        buffer
+            .put((byte) (0xe0 | c >> 12))
+            .put((byte) (0x80 | c >> 6 & 0x3f))
+            .put((byte) (0x80 | c & 0x3f));
+      }
+    }
+    if (!buffer.hasRemaining()) {
+      flush();
+    }
+    buffer.put((byte) '\n');
+  }
+
+  /** Writes everything buffered, rotating first if this batch would cross the size limit. */
+  void flush() throws IOException {
+    buffer.flip();
+    if (size > 0 && size + buffer.remaining() > maxFileSize) {
+      rotate();
+    }
+    while (buffer.hasRemaining()) {
+      size += channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    channel.close();
+  }
+
+  private void open() throws IOException {
+    channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    size = channel.size();
+  }
+
+  private void rotate() throws IOException {
+    channel.close();
+    Files.deleteIfExists(rotated(maxFiles));
+    for (int i = maxFiles - 1; i >= 1; i--) {
+      final Path source = rotated(i);
+      if (Files.exists(source)) {
+        Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    if (maxFiles > 0) {
+      Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    } else {
+      Files.delete(file);
+    }
+    open();
+  }
+
+  Path rotated(int index) {
+    final String name = file.getFileName().toString();
+    final int dot = name.lastIndexOf('.');
+    return file.resolveSibling(
+        dot < 0 ? name + "." + index : name.substring(0, dot) + "." + index + name.substring(dot));
+  }
+}
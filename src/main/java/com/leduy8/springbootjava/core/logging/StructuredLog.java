@@ -0,0 +1,203 @@
+package com.leduy8.springbootjava.core.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * JSON-lines log for request, SQL and security events. Request threads only format a record into a
+ * preallocated ring-buffer slot; one background thread drains the ring in batches and writes to a
+ * rotating file, so no request thread waits on disk. What a producer does when the ring is full is
+ * set by {@code app.structured-log.overflow-policy}: {@code drop} discards the record and counts
+ * it, {@code block} waits for the writer to free a slot.
+ *
+ * <pre>{@code
+ * try (JsonLine line = structuredLog.begin("security")) {
+ *   line.field("event", "login_failed").field("reason", reason);
+ * }
+ * }</pre>
+ */
+@Slf4j
+@Component
+public class StructuredLog implements SmartLifecycle {
+  public enum OverflowPolicy {
+    DROP,
+    BLOCK
+  }
+
+  private static final int SPINS_BEFORE_PARKING = 64;
+  private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+  private final JsonLine discarded = JsonLine.discarded();
+  private final LogRingBuffer ring;
+  private final MeterRegistry meterRegistry;
+  private final Counter written;
+  private final boolean enabled;
+  private final Path file;
+  private final OverflowPolicy overflowPolicy;
+  private final long maxFileSize;
+  private final int maxFiles;
+  private final int writeBufferSize;
+  private final long pollNanos;
+
+  private volatile boolean running;
+  private Thread writerThread;
+
+  public StructuredLog(
+      MeterRegistry meterRegistry,
+      @Value("${app.structured-log.enabled:true}") boolean enabled,
+      @Value("${app.structured-log.file:logs/app.jsonl}") Path file,
+      @Value("${app.structured-log.capacity:8192}") int capacity,
+      @Value("${app.structured-log.overflow-policy:drop}") OverflowPolicy overflowPolicy,
+      @Value("${app.structured-log.max-file-size:50MB}") DataSize maxFileSize,
+      @Value("${app.structured-log.max-files:5}") int maxFiles,
+      @Value("${app.structured-log.write-buffer-size:64KB}") DataSize writeBufferSize,
+      @Value("${app.structured-log.poll-interval:10ms}") Duration pollInterval) {
+    this.ring = new LogRingBuffer(capacity, 256);
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.file = file;
+    this.overflowPolicy = overflowPolicy;
+    this.maxFileSize = maxFileSize.toBytes();
+    this.maxFiles = maxFiles;
+    this.writeBufferSize = Math.toIntExact(writeBufferSize.toBytes());
+    this.pollNanos = pollInterval.toNanos();
+
+    this.written =
+        Counter.builder("logs.structured.written")
+            .description("Structured log records written to file")
+            .register(meterRegistry);
+    Gauge.builder("logs.structured.pending", ring, LogRingBuffer::size)
+        .description("Structured log records waiting for the writer")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts a record of the given type. The caller must close it, which publishes it; a record that
+   * is never closed stalls the writer behind it.
+   */
+  public JsonLine begin(String type) {
+    if (!enabled) {
+      return discarded;
+    }
+    JsonLine line = ring.claim();
+    if (line == null && overflowPolicy == OverflowPolicy.BLOCK) {
+      line = awaitSlot();
+    }
+    if (line == null) {
+      dropped(type).increment();
+      return discarded;
+    }
+    return line.start(System.currentTimeMillis(), type);
+  }
+
+  public double droppedCount(String type) {
+    return dropped(type).count();
+  }
+
+  @Override
+  public synchronized void start() {
+    if (!enabled || running) {
+      return;
+    }
+    final RotatingFileWriter writer;
+    try {
+      writer = new RotatingFileWriter(file, maxFileSize, maxFiles, writeBufferSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open structured log " + file, e);
+    }
+    running = true;
+    writerThread =
+        Thread.ofPlatform()
+            .name("structured-log-writer")
+            .daemon()
+            .start(() -> writeUntilStopped(writer));
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    LockSupport.unpark(writerThread);
+    try {
+      writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writerThread = null;
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return running;
+  }
+
+  // Started before and stopped after the web server, so records from draining requests land.
+  @Override
+  public int getPhase() {
+    return 0;
+  }
+
+  private void writeUntilStopped(RotatingFileWriter writer) {
+    try (writer) {
+      while (true) {
+        // Read before draining, so records published before stop() are all written.
+        final boolean stopping = !running;
+        long batch = 0;
+        for (JsonLine line = ring.peek(); line != null; line = ring.peek()) {
+          writer.append(line.text);
+          ring.release();
+          batch++;
+        }
+        if (batch > 0) {
+          writer.flush();
+          written.increment(batch);
+        }
+        if (stopping) {
+          return;
+        }
+        if (batch == 0) {
+          LockSupport.parkNanos(this, pollNanos);
+        }
+      }
+    } catch (IOException e) {
+      running = false;
+      log.error("Structured log writer stopped; further records are dropped", e);
+    }
+  }
+
+  private JsonLine awaitSlot() {
+    for (int attempt = 0; running; attempt++) {
+      final JsonLine line = ring.claim();
+      if (line != null) {
+        return line;
+      }
+      if (attempt < SPINS_BEFORE_PARKING) {
+        Thread.onSpinWait();
+      } else {
+        LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+      }
+    }
+    return null;
+  }
+
+  private Counter dropped(String type) {
+    return Counter.builder("logs.structured.dropped")
+        .description("Structured log records discarded because the ring buffer was full")
+        .tag("type", type)
+        .register(meterRegistry);
+  }
+}
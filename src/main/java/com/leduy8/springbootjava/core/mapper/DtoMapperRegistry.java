@@ -0,0 +1,202 @@
+package com.leduy8.springbootjava.core.mapper;
+
+import com.leduy8.springbootjava.core.dto.BaseResponseDTO;
+import com.leduy8.springbootjava.core.exception.DtoMappingException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resolves an entity-to-DTO mapping once per (source class, DTO class) pair and caches it, so
+ * mapping a row costs a direct call instead of a reflective constructor lookup.
+ *
+ * <p>For a given DTO class the first matching strategy wins:
+ *
+ * <ol>
+ *   <li>a static {@code from(source)} factory on the DTO;
+ *   <li>a {@link BaseResponseDTO} subclass, created through its no-arg constructor and filled by
+ *       {@code mapFromEntity};
+ *   <li>a record, whose canonical constructor is fed by the source's matching getters.
+ * </ol>
+ */
+public final class DtoMapperRegistry {
+  private static final ClassValue<Map<Class<?>, Function<Object, Object>>> MAPPERS =
+      new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Function<Object, Object>> computeValue(Class<?> dtoClass) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private DtoMapperRegistry() {}
+
+  @SuppressWarnings("unchecked")
+  public static <E, D> Function<E, D> mapper(Class<? extends E> sourceClass, Class<D> dtoClass) {
+    return (Function<E, D>) lookup(sourceClass, dtoClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <D> D map(Object source, Class<D> dtoClass) {
+    return (D) lookup(source.getClass(), dtoClass).apply(source);
+  }
+
+  /** Maps every element, looking the mapper up again only when the element class changes. */
+  @SuppressWarnings("unchecked")
+  public static <D> List<D> mapAll(List<?> sources, Class<D> dtoClass) {
+    final List<D> result = new ArrayList<>(sources.size());
+    Class<?> currentClass = null;
+    Function<Object, Object> current = null;
+    for (final Object source : sources) {
+      if (source.getClass() != currentClass) {
+        currentClass = source.getClass();
+        current = lookup(currentClass, dtoClass);
+      }
+      result.add((D) current.apply(source));
+    }
+    return result;
+  }
+
+  private static Function<Object, Object> lookup(Class<?> sourceClass, Class<?> dtoClass) {
+    return MAPPERS.get(dtoClass).computeIfAbsent(sourceClass, type -> resolve(type, dtoClass));
+  }
+
+  private static Function<Object, Object> resolve(Class<?> sourceClass, Class<?> dtoClass) {
+    try {
+      final MethodHandles.Lookup lookup =
+          MethodHandles.privateLookupIn(dtoClass, MethodHandles.lookup());
+
+      final Method factory = findFactory(sourceClass, dtoClass);
+      if (factory != null) {
+        return bindFactory(lookup, factory, dtoClass);
+      }
+      if (BaseResponseDTO.class.isAssignableFrom(dtoClass)) {
+        return bindMapFromEntity(lookup, dtoClass);
+      }
+      if (dtoClass.isRecord()) {
+        return bindRecord(lookup, sourceClass, dtoClass);
+      }
+      throw new IllegalArgumentException("no from() factory, BaseResponseDTO or record");
+    } catch (Throwable e) {
+      throw new DtoMappingException(sourceClass, dtoClass, e);
+    }
+  }
+
+  private static Method findFactory(Class<?> sourceClass, Class<?> dtoClass) {
+    for (final Method method : dtoClass.getDeclaredMethods()) {
+      if (method.getName().equals("from")
+          && Modifier.isStatic(method.getModifiers())
+          && method.getParameterCount() == 1
+          && method.getParameterTypes()[0].isAssignableFrom(sourceClass)
+          && dtoClass.isAssignableFrom(method.getReturnType())) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> bindFactory(
+      MethodHandles.Lookup lookup, Method factory, Class<?> dtoClass) throws Throwable {
+    final MethodHandle handle = lookup.unreflect(factory);
+    return (Function<Object, Object>)
+        LambdaMetafactory.metafactory(
+                lookup,
+                "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                handle.type())
+            .getTarget()
+            .invoke();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> bindMapFromEntity(
+      MethodHandles.Lookup lookup, Class<?> dtoClass) throws Throwable {
+    final MethodHandle constructor =
+        lookup.findConstructor(dtoClass, MethodType.methodType(void.class));
+    final Supplier<BaseResponseDTO<Object>> supplier =
+        (Supplier<BaseResponseDTO<Object>>)
+            LambdaMetafactory.metafactory(
+                    lookup,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    constructor,
+                    MethodType.methodType(dtoClass))
+                .getTarget()
+                .invoke();
+    return source -> {
+      final BaseResponseDTO<Object> dto = supplier.get();
+      dto.mapFromEntity(source);
+      return dto;
+    };
+  }
+
+  private static Function<Object, Object> bindRecord(
+      MethodHandles.Lookup lookup, Class<?> sourceClass, Class<?> dtoClass) throws Throwable {
+    final RecordComponent[] components = dtoClass.getRecordComponents();
+    final Class<?>[] componentTypes = new Class<?>[components.length];
+    final MethodHandle[] getters = new MethodHandle[components.length];
+    for (int i = 0; i < components.length; i++) {
+      componentTypes[i] = components[i].getType();
+      getters[i] =
+          MethodHandles.publicLookup()
+              .unreflect(findGetter(sourceClass, components[i].getName()))
+              .asType(MethodType.methodType(componentTypes[i], sourceClass));
+    }
+
+    // (source, source, ...) -> dto, then collapse every argument onto the single source.
+    final MethodHandle constructor =
+        MethodHandles.filterArguments(
+            lookup.findConstructor(dtoClass, MethodType.methodType(void.class, componentTypes)),
+            0,
+            getters);
+    final MethodHandle mapper =
+        MethodHandles.permuteArguments(
+                constructor,
+                MethodType.methodType(dtoClass, sourceClass),
+                new int[components.length])
+            .asType(MethodType.methodType(Object.class, Object.class));
+    return new MethodHandleMapper(mapper);
+  }
+
+  private static Method findGetter(Class<?> sourceClass, String property)
+      throws NoSuchMethodException {
+    final String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    for (final String name : List.of("get" + suffix, "is" + suffix, property)) {
+      try {
+        final Method getter = sourceClass.getMethod(name);
+        if (getter.getReturnType() != void.class) {
+          return getter;
+        }
+      } catch (NoSuchMethodException ignored) {
+        // try the next accessor naming convention
+      }
+    }
+    throw new NoSuchMethodException(sourceClass.getName() + " has no getter for " + property);
+  }
+
+  private record MethodHandleMapper(MethodHandle handle) implements Function<Object, Object> {
+    @Override
+    public Object apply(Object source) {
+      try {
+        return handle.invokeExact(source);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
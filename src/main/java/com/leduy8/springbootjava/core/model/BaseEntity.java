@@ -7,6 +7,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,8 +17,9 @@ import lombok.Setter;
 @MappedSuperclass
 public abstract class BaseEntity {
 
+  // Pooled sequence ids (users_seq, allocation 50) keep Hibernate's JDBC insert batching enabled.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE)
   private Long id;
 
   @Column(nullable = false, updatable = false)
@@ -29,6 +31,11 @@ public abstract class BaseEntity {
   @Column(nullable = false)
   private boolean isDeleted = false;
 
+  // Bumped by every write and exposed as the ETag.
+  @Version
+  @Column(nullable = false)
+  private long version;
+
   public void softDelete() {
     this.isDeleted = true;
   }
@@ -0,0 +1,58 @@
+package com.leduy8.springbootjava.core.monitoring;
+
+import com.leduy8.springbootjava.core.logging.JsonLine;
+import com.leduy8.springbootjava.core.logging.StructuredLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Writes a {@code request} record to the {@link StructuredLog} for a sampled fraction of requests,
+ * and for every request that failed with a server error.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccessLogFilter extends OncePerRequestFilter {
+  private final StructuredLog structuredLog;
+  private final double sampleRate;
+
+  public AccessLogFilter(
+      StructuredLog structuredLog,
+      @Value("${app.structured-log.request-sample-rate:0.1}") double sampleRate) {
+    this.structuredLog = structuredLog;
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final long startedAt = System.nanoTime();
+    int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    try {
+      chain.doFilter(request, response);
+      status = response.getStatus();
+    } finally {
+      if (status >= 500 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+        try (JsonLine line = structuredLog.begin("request")) {
+          line.field("method", request.getMethod())
+              .field("endpoint", MetricTags.endpoint(request))
+              .field("path", request.getRequestURI())
+              .field("status", status)
+              .millis("duration_ms", System.nanoTime() - startedAt)
+              .field("remote", request.getRemoteAddr());
+        }
+      }
+    }
+  }
+}
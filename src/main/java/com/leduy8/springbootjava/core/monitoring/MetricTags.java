@@ -0,0 +1,45 @@
+package com.leduy8.springbootjava.core.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tag values shared by the application's own meters. Endpoints are route templates such as {@code
+ * GET /api/users/{id}}, never raw paths, and exceptions are class names, so every tag stays bounded
+ * by the code rather than by traffic.
+ */
+public final class MetricTags {
+  public static final String ENDPOINT = "endpoint";
+  public static final String OUTCOME = "outcome";
+  public static final String EXCEPTION = "exception";
+
+  public static final String NONE = "none";
+  public static final String UNMAPPED = "unmapped";
+  public static final String SUCCESS = "success";
+  public static final String ERROR = "error";
+
+  private MetricTags() {}
+
+  /** The route of the request bound to this thread, or {@code none} outside a request. */
+  public static String currentEndpoint() {
+    return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servlet
+        ? endpoint(servlet.getRequest())
+        : NONE;
+  }
+
+  /** The route the request was dispatched to; only known once handler mapping has run. */
+  public static String endpoint(HttpServletRequest request) {
+    final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern == null ? UNMAPPED : request.getMethod() + " " + pattern;
+  }
+
+  public static String outcome(Throwable failure) {
+    return failure == null ? SUCCESS : ERROR;
+  }
+
+  public static String exception(Throwable failure) {
+    return failure == null ? NONE : failure.getClass().getSimpleName();
+  }
+}
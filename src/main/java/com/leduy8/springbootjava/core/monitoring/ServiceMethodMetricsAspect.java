@@ -0,0 +1,39 @@
+package com.leduy8.springbootjava.core.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/** Times every public {@code @Service} method, tagged by the endpoint that called it. */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMethodMetricsAspect {
+  private final MeterRegistry meterRegistry;
+
+  @Around("@within(org.springframework.stereotype.Service)")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    final Timer.Sample sample = Timer.start(meterRegistry);
+    Throwable failure = null;
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      sample.stop(
+          Timer.builder("service.method")
+              .description("Time spent in a service method")
+              .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+              .tag("method", joinPoint.getSignature().getName())
+              .tag(MetricTags.ENDPOINT, MetricTags.currentEndpoint())
+              .tag(MetricTags.OUTCOME, MetricTags.outcome(failure))
+              .tag(MetricTags.EXCEPTION, MetricTags.exception(failure))
+              .register(meterRegistry));
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.leduy8.springbootjava.core.monitoring;
+
+import com.leduy8.springbootjava.core.jdbc.SqlInspection;
+import com.leduy8.springbootjava.core.logging.JsonLine;
+import com.leduy8.springbootjava.core.logging.StructuredLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Counts and times the SQL a sampled fraction of requests run, and logs the requests that go over
+ * the query-count, SQL-time or latency budget, or repeat one statement often enough to look like an
+ * N+1, with their normalized statements and the service methods that ran them, as {@code sql}
+ * records in the {@link StructuredLog}. Replaces Hibernate's show-sql, which prints every statement
+ * without saying which request it belonged to.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(
+    name = "app.sql-inspector.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SqlInspectionFilter extends OncePerRequestFilter {
+  private final MeterRegistry meterRegistry;
+  private final StructuredLog structuredLog;
+  private final double sampleRate;
+  private final int maxQueries;
+  private final long maxSqlNanos;
+  private final long maxRequestNanos;
+  private final int repeatThreshold;
+  private final int reportedStatements;
+
+  public SqlInspectionFilter(
+      MeterRegistry meterRegistry,
+      StructuredLog structuredLog,
+      @Value("${app.sql-inspector.sample-rate:0.1}") double sampleRate,
+      @Value("${app.sql-inspector.max-queries:10}") int maxQueries,
+      @Value("${app.sql-inspector.max-sql-time:200ms}") Duration maxSqlTime,
+      @Value("${app.sql-inspector.max-request-time:1s}") Duration maxRequestTime,
+      @Value("${app.sql-inspector.repeat-threshold:5}") int repeatThreshold,
+      @Value("${app.sql-inspector.reported-statements:5}") int reportedStatements) {
+    this.meterRegistry = meterRegistry;
+    this.structuredLog = structuredLog;
+    this.sampleRate = sampleRate;
+    this.maxQueries = maxQueries;
+    this.maxSqlNanos = maxSqlTime.toNanos();
+    this.maxRequestNanos = maxRequestTime.toNanos();
+    this.repeatThreshold = repeatThreshold;
+    this.reportedStatements = reportedStatements;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    // An enclosing inspection, such as a test's statement counter, keeps recording this request.
+    if (SqlInspection.current() != null || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    final SqlInspection inspection = SqlInspection.start();
+    final long startedAt = System.nanoTime();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      SqlInspection.finish();
+      report(request, inspection, System.nanoTime() - startedAt);
+    }
+  }
+
+  private void report(HttpServletRequest request, SqlInspection inspection, long requestNanos) {
+    final String endpoint = MetricTags.endpoint(request);
+    DistributionSummary.builder("db.statements.per.request")
+        .description("SQL statements run by one sampled request")
+        .tag(MetricTags.ENDPOINT, endpoint)
+        .register(meterRegistry)
+        .record(inspection.count());
+
+    final List<SqlInspection.Statement> statements = inspection.statements();
+    final List<String> reasons = new ArrayList<>();
+    if (inspection.count() > maxQueries) {
+      reasons.add("queries");
+    }
+    if (inspection.nanos() > maxSqlNanos) {
+      reasons.add("sql_time");
+    }
+    if (requestNanos > maxRequestNanos) {
+      reasons.add("latency");
+    }
+    if (statements.stream().anyMatch(statement -> statement.count() >= repeatThreshold)) {
+      reasons.add("repeated_statement");
+    }
+
+    if (reasons.isEmpty()) {
+      return;
+    }
+    reasons.forEach(
+        reason ->
+            Counter.builder("db.requests.over.budget")
+                .description("Sampled requests that broke a SQL budget")
+                .tag(MetricTags.ENDPOINT, endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment());
+    try (JsonLine line = structuredLog.begin("sql")) {
+      line.field("endpoint", endpoint).beginArray("reasons");
+      reasons.forEach(line::value);
+      line.endArray()
+          .field("statements", inspection.count())
+          .millis("sql_ms", inspection.nanos())
+          .millis("request_ms", requestNanos)
+          .beginArray("top");
+      statements.stream()
+          .limit(reportedStatements)
+          .forEach(
+              statement -> {
+                line.beginObject()
+                    .field("count", statement.count())
+                    .millis("ms", statement.nanos())
+                    .beginArray("methods");
+                statement.methods().forEach(line::value);
+                line.endArray().field("sql", statement.sql()).endObject();
+              });
+      line.endArray();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.leduy8.springbootjava.core.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/** Picks the highest bcrypt cost whose hash still fits the latency budget on this machine. */
+@Slf4j
+public final class BcryptStrengthCalibrator {
+  private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+  private BcryptStrengthCalibrator() {}
+
+  public static int calibrate(Duration budget, int minStrength, int maxStrength) {
+    // Warm up the JIT so the first measurement is not inflated.
+    new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+    int strength = minStrength;
+    long nanos = measure(strength);
+    // Each extra cost step doubles the work, so predict before paying for the next measurement.
+    while (strength < maxStrength && nanos * 2 <= budget.toNanos()) {
+      strength++;
+      nanos = measure(strength);
+    }
+    log.info(
+        "Calibrated bcrypt strength {} ({} ms per hash, budget {} ms)",
+        strength,
+        TimeUnit.NANOSECONDS.toMillis(nanos),
+        budget.toMillis());
+    return strength;
+  }
+
+  private static long measure(int strength) {
+    final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+    final long start = System.nanoTime();
+    encoder.encode(SAMPLE_PASSWORD);
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,157 @@
+package com.leduy8.springbootjava.core.security;
+
+import com.leduy8.springbootjava.core.exception.PasswordHashingUnavailableException;
+import com.leduy8.springbootjava.core.monitoring.MetricTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs a CPU-bound {@link PasswordEncoder} on its own fixed pool so hashing bursts queue here
+ * instead of occupying request threads. A full queue fails fast with {@link
+ * PasswordHashingUnavailableException}.
+ */
+public class HashingPasswordEncoder implements PasswordEncoder, DisposableBean {
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final MeterRegistry meterRegistry;
+
+  public HashingPasswordEncoder(
+      PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new HashingThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+    Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+        .description("Password hashing tasks waiting for a hashing thread")
+        .register(meterRegistry);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run("encode", () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run("matches", () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * Hashes a batch on the pool, keeping a few tasks queued per thread so every hashing thread stays
+   * busy without the batch filling the queue other callers share.
+   */
+  public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+    final int window = 2 * executor.getMaximumPoolSize();
+    final List<Future<String>> submitted = new ArrayList<>(rawPasswords.size());
+    final List<String> hashes = new ArrayList<>(rawPasswords.size());
+    try {
+      for (final CharSequence rawPassword : rawPasswords) {
+        if (submitted.size() - hashes.size() >= window) {
+          hashes.add(join(submitted.get(hashes.size())));
+        }
+        submitted.add(submit("encode", () -> delegate.encode(rawPassword)));
+      }
+      while (hashes.size() < submitted.size()) {
+        hashes.add(join(submitted.get(hashes.size())));
+      }
+    } catch (RuntimeException e) {
+      submitted.forEach(hash -> hash.cancel(true));
+      throw e;
+    }
+    return hashes;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+
+  private <T> T run(String operation, Callable<T> hash) {
+    return join(submit(operation, hash));
+  }
+
+  private <T> Future<T> submit(String operation, Callable<T> hash) {
+    // Hashing threads have no request bound, so the caller's endpoint is captured here.
+    final String endpoint = MetricTags.currentEndpoint();
+    final long submittedAt = System.nanoTime();
+    try {
+      return executor.submit(
+          () -> {
+            timer("password.hashing.wait", "Time a password hashing task spent queued")
+                .tag(MetricTags.ENDPOINT, endpoint)
+                .register(meterRegistry)
+                .record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            return timer("password.hashing.duration", "Time spent computing a password hash")
+                .tag("operation", operation)
+                .tag(MetricTags.ENDPOINT, endpoint)
+                .register(meterRegistry)
+                .recordCallable(hash);
+          });
+    } catch (RejectedExecutionException e) {
+      Counter.builder("password.hashing.rejected")
+          .description("Password hashing tasks refused because the queue was full")
+          .tag("operation", operation)
+          .tag(MetricTags.ENDPOINT, endpoint)
+          .register(meterRegistry)
+          .increment();
+      throw new PasswordHashingUnavailableException();
+    }
+  }
+
+  private static <T> T join(Future<T> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingUnavailableException();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  private static Timer.Builder timer(String name, String description) {
+    return Timer.builder(name).description(description);
+  }
+
+  private static final class HashingThreadFactory implements ThreadFactory {
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable task) {
+      final Thread thread = new Thread(task, "password-hashing-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.leduy8.springbootjava.core.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * The HMAC keys tokens may be signed with, indexed by key id ({@code kid}). Tokens are signed with
+ * one of them and carry its id in the header; verification looks the key up by that id, so any
+ * number of keys can be live while they are rotated:
+ *
+ * <ol>
+ *   <li>add the new key on every node, still signing with the old one;
+ *   <li>switch the signing key id to the new key;
+ *   <li>once tokens signed with the old key have expired, remove it.
+ * </ol>
+ */
+public final class JwtKeyRing extends SigningKeyResolverAdapter {
+  private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS256;
+
+  private final String signingKeyId;
+  private final Key signingKey;
+  private final Map<String, Key> verificationKeys;
+
+  private JwtKeyRing(String signingKeyId, Map<String, Key> verificationKeys) {
+    if (verificationKeys.isEmpty()) {
+      throw new IllegalArgumentException("At least one JWT key is required");
+    }
+    final boolean unset = signingKeyId == null || signingKeyId.isBlank();
+    if (unset && verificationKeys.size() > 1) {
+      throw new IllegalArgumentException("Several JWT keys are configured; name the signing one");
+    }
+    final String signing = unset ? verificationKeys.keySet().iterator().next() : signingKeyId;
+    if (!verificationKeys.containsKey(signing)) {
+      throw new IllegalArgumentException("JWT signing key id " + signing + " has no key");
+    }
+    this.signingKeyId = signing;
+    this.signingKey = verificationKeys.get(signing);
+    this.verificationKeys = Map.copyOf(verificationKeys);
+  }
+
+  /** Keys from base64 secrets of at least 256 bits; a single key is also the signing key. */
+  public static JwtKeyRing of(Map<String, String> base64Secrets, String signingKeyId) {
+    final Map<String, Key> keys = new LinkedHashMap<>();
+    base64Secrets.forEach(
+        (kid, secret) -> {
+          if (kid.isBlank()) {
+            throw new IllegalArgumentException("JWT key ids must not be blank");
+          }
+          keys.put(kid, Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret.trim())));
+        });
+    return new JwtKeyRing(signingKeyId, keys);
+  }
+
+  /**
+   * Parses {@code kid:base64secret} pairs separated by commas, then {@code kid=base64secret} lines
+   * from the key file if one is given. A key id in both takes the file's secret.
+   */
+  public static JwtKeyRing load(String inlineKeys, Path keyFile, String signingKeyId)
+      throws IOException {
+    final Map<String, String> secrets = new LinkedHashMap<>();
+    if (inlineKeys != null) {
+      for (String entry : inlineKeys.split(",")) {
+        if (entry.isBlank()) {
+          continue;
+        }
+        final int colon = entry.indexOf(':');
+        if (colon < 0) {
+          throw new IllegalArgumentException("JWT keys must be kid:base64secret pairs");
+        }
+        secrets.put(entry.substring(0, colon).trim(), entry.substring(colon + 1));
+      }
+    }
+    if (keyFile != null) {
+      final Properties file = new Properties();
+      try (Reader reader = Files.newBufferedReader(keyFile)) {
+        file.load(reader);
+      }
+      file.stringPropertyNames().forEach(kid -> secrets.put(kid.trim(), file.getProperty(kid)));
+    }
+    return of(secrets, signingKeyId);
+  }
+
+  /** One random key, for a single node that never needs to verify another node's tokens. */
+  public static JwtKeyRing random() {
+    return new JwtKeyRing(null, Map.of("local-" + UUID.randomUUID(), Keys.secretKeyFor(ALGORITHM)));
+  }
+
+  public String signingKeyId() {
+    return signingKeyId;
+  }
+
+  public Key signingKey() {
+    return signingKey;
+  }
+
+  public SignatureAlgorithm algorithm() {
+    return ALGORITHM;
+  }
+
+  public int size() {
+    return verificationKeys.size();
+  }
+
+  @Override
+  public Key resolveSigningKey(JwsHeader header, Claims claims) {
+    final String kid = header.getKeyId();
+    final Key key = kid == null ? null : verificationKeys.get(kid);
+    if (key == null) {
+      throw new SignatureException("Unknown JWT key id: " + kid);
+    }
+    return key;
+  }
+}
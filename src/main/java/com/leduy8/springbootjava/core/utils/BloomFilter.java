@@ -0,0 +1,105 @@
+package com.leduy8.springbootjava.core.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over strings, backed by one bit array. Answers "definitely absent" or
+ * "maybe present"; it never forgets a value, so a negative answer is always correct.
+ */
+public final class BloomFilter {
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashFunctions;
+  private final LongAdder bitsSet = new LongAdder();
+
+  private BloomFilter(long bitSize, int hashFunctions) {
+    this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) >>> 6));
+    this.bitSize = (long) words.length() << 6;
+    this.hashFunctions = hashFunctions;
+  }
+
+  /** Sizes the filter so {@code expectedInsertions} values give roughly {@code fpp} errors. */
+  public static BloomFilter create(long expectedInsertions, double fpp) {
+    if (expectedInsertions < 1 || fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("expectedInsertions must be positive, fpp in (0, 1)");
+    }
+    final long bits =
+        Math.max(
+            64,
+            (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+    final int hashes =
+        Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+    return new BloomFilter(bits, hashes);
+  }
+
+  public void put(String value) {
+    final long hash = hash(value);
+    long combined = fmix64(hash);
+    final long step = fmix64(hash + 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashFunctions; i++, combined += step) {
+      if (setBit(Long.remainderUnsigned(combined, bitSize))) {
+        bitsSet.increment();
+      }
+    }
+  }
+
+  public boolean mightContain(String value) {
+    final long hash = hash(value);
+    long combined = fmix64(hash);
+    final long step = fmix64(hash + 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashFunctions; i++, combined += step) {
+      final long bit = Long.remainderUnsigned(combined, bitSize);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** False-positive probability implied by how full the bit array is right now. */
+  public double expectedFpp() {
+    return Math.pow((double) bitsSet.sum() / bitSize, hashFunctions);
+  }
+
+  public long bitSize() {
+    return bitSize;
+  }
+
+  public int hashFunctions() {
+    return hashFunctions;
+  }
+
+  private boolean setBit(long bit) {
+    final int index = (int) (bit >>> 6);
+    final long mask = 1L << bit;
+    long current;
+    do {
+      current = words.get(index);
+      if ((current & mask) != 0) {
+        return false;
+      }
+    } while (!words.compareAndSet(index, current, current | mask));
+    return true;
+  }
+
+  // 64-bit FNV-1a over UTF-8; the two probe sequences are derived from it with murmur3's finalizer.
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static long fmix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb93fe1a85ec3L;
+    k ^= k >>> 33;
+    return k;
+  }
+}
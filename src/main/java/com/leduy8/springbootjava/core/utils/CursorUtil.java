@@ -0,0 +1,38 @@
+package com.leduy8.springbootjava.core.utils;
+
+import com.leduy8.springbootjava.core.exception.InvalidRequestParameterException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Encodes keyset positions as opaque, URL-safe cursors. */
+public final class CursorUtil {
+  private static final String PARAMETER = "cursor";
+
+  private CursorUtil() {}
+
+  public static String encode(String orderBy, String sortValue, Long id) {
+    final String raw = orderBy + '\n' + sortValue + '\n' + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static Cursor decode(String cursor) {
+    try {
+      final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      final int first = raw.indexOf('\n');
+      final int last = raw.lastIndexOf('\n');
+      if (first < 0 || first == last) {
+        throw new InvalidRequestParameterException(PARAMETER);
+      }
+      return new Cursor(
+          raw.substring(0, first),
+          raw.substring(first + 1, last),
+          Long.valueOf(raw.substring(last + 1)));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidRequestParameterException(PARAMETER);
+    }
+  }
+
+  public record Cursor(String orderBy, String sortValue, Long id) {}
+}
@@ -0,0 +1,23 @@
+package com.leduy8.springbootjava.core.utils;
+
+import java.sql.SQLException;
+import org.springframework.dao.DuplicateKeyException;
+
+public final class DataAccessUtil {
+  // The SQL-standard state for a unique violation, reported by both Postgres and H2.
+  private static final String UNIQUE_VIOLATION = "23505";
+
+  private DataAccessUtil() {}
+
+  /** Whether a unique constraint caused the failure, as opposed to NOT NULL, length or FK ones. */
+  public static boolean isUniqueViolation(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof DuplicateKeyException
+          || cause instanceof SQLException sqlException
+              && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,68 @@
+package com.leduy8.springbootjava.core.utils;
+
+import com.leduy8.springbootjava.core.exception.PreconditionFailedException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/** Builds strong ETags from entity versions, so they can be computed without loading bodies. */
+public final class ETagUtil {
+
+  private ETagUtil() {}
+
+  public static String of(Object id, long version) {
+    return "\"" + id + '-' + version + '"';
+  }
+
+  /**
+   * Reads the version an {@code If-Match} header expects for the resource. Returns null when there
+   * is no header or it is {@code *}. Weak, foreign or malformed tags can never match, so they fail
+   * the precondition.
+   */
+  public static Long expectedVersion(String ifMatch, Object id) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    final String tag = ifMatch.trim();
+    final String prefix = "\"" + id + '-';
+    if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+      throw new PreconditionFailedException();
+    }
+    try {
+      return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+    } catch (NumberFormatException e) {
+      throw new PreconditionFailedException();
+    }
+  }
+
+  /**
+   * Tags a page by how many rows it covers, their newest {@code updatedAt}, and a checksum of the
+   * ids in order. The qualifiers add anything else the body carries, such as totals.
+   */
+  public static String ofPage(Collection<?> ids, LocalDateTime maxUpdatedAt, Object... qualifiers) {
+    final CRC32 checksum = new CRC32();
+    for (final Object id : ids) {
+      checksum.update(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+      checksum.update(',');
+    }
+    for (final Object qualifier : qualifiers) {
+      checksum.update(String.valueOf(qualifier).getBytes(StandardCharsets.UTF_8));
+      checksum.update(';');
+    }
+    final long version = maxUpdatedAt == null ? 0 : toMicros(maxUpdatedAt);
+    return "\"p"
+        + ids.size()
+        + '-'
+        + Long.toHexString(version)
+        + '-'
+        + Long.toHexString(checksum.getValue())
+        + '"';
+  }
+
+  private static long toMicros(LocalDateTime dateTime) {
+    final var instant = dateTime.toInstant(ZoneOffset.UTC);
+    return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+  }
+}
@@ -1,41 +1,111 @@
 package com.leduy8.springbootjava.core.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.leduy8.springbootjava.core.security.JwtKeyRing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
-  private final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+  private final JwtKeyRing keyRing;
+  // One parser for every key: it resolves the verification key from the token's `kid` header.
+  private final JwtParser parser;
+
+  // Verified tokens keyed by their compact form, each entry living until the token's own `exp`.
+  private final Cache<String, VerifiedToken> claimsCache;
+
+  public JwtUtil(
+      JwtKeyRing keyRing,
+      @Value("${app.jwt.claims-cache.maximum-size:10000}") long claimsCacheMaximumSize) {
+    this.keyRing = keyRing;
+    this.parser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();
+    this.claimsCache =
+        Caffeine.newBuilder()
+            .maximumSize(claimsCacheMaximumSize)
+            .expireAfter(new TokenExpiry())
+            .recordStats()
+            .build();
+  }
 
   public String generateToken(String email) {
     return Jwts.builder()
+        .setHeaderParam(JwsHeader.KEY_ID, keyRing.signingKeyId())
         .setSubject(email)
         .setIssuedAt(new Date())
         .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)) // 1 hour expiry
-        .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+        .signWith(keyRing.signingKey(), keyRing.algorithm())
         .compact();
   }
 
   public boolean validateToken(String token, String email) {
-    return email.equals(extractEmail(token)) && !isTokenExpired(token);
+    return email.equals(parseToken(token).email());
   }
 
   public String extractEmail(String token) {
-    return extractClaim(token, Claims::getSubject);
+    return parseToken(token).email();
+  }
+
+  /** Verifies the token once, returning empty instead of throwing when it is invalid. */
+  public Optional<VerifiedToken> verify(String token) {
+    try {
+      return Optional.of(parseToken(token));
+    } catch (JwtException | IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  public Cache<String, VerifiedToken> getClaimsCache() {
+    return claimsCache;
   }
 
-  private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
-    return claimsResolver.apply(claims);
+  public CacheStats getClaimsCacheStats() {
+    return claimsCache.stats();
   }
 
-  private boolean isTokenExpired(String token) {
-    return extractClaim(token, Claims::getExpiration).before(new Date());
+  private VerifiedToken parseToken(String token) {
+    final VerifiedToken cached = claimsCache.getIfPresent(token);
+    if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+      return cached;
+    }
+
+    // Throws ExpiredJwtException for a stale entry the cache has not evicted yet.
+    final Claims claims = parser.parseClaimsJws(token).getBody();
+    final VerifiedToken verified =
+        new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+    claimsCache.put(token, verified);
+    return verified;
+  }
+
+  public record VerifiedToken(String email, Instant expiresAt) {}
+
+  private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+    @Override
+    public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String token, VerifiedToken verified, long currentTime, long currentDuration) {
+      return expireAfterCreate(token, verified, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String token, VerifiedToken verified, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 }
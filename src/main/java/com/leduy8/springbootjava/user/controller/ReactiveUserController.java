@@ -0,0 +1,38 @@
+package com.leduy8.springbootjava.user.controller;
+
+import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.user.dto.UserResponseDTO;
+import com.leduy8.springbootjava.user.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/** Read-only user endpoints served on the event loop when the {@code reactive} profile is on. */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+
+  private final ReactiveUserService reactiveUserService;
+
+  @GetMapping("/{id}")
+  public Mono<UserResponseDTO> getUserById(@PathVariable Long id) {
+    return reactiveUserService.getUserById(id);
+  }
+
+  @GetMapping
+  public Mono<PaginatedResponseDTO<UserResponseDTO>> getUsers(
+      @RequestParam(defaultValue = "1") int page,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "id") String orderBy,
+      @RequestParam(defaultValue = "exact") String totalMode) {
+    return reactiveUserService.getUsers(page - 1, size, orderBy, TotalMode.fromValue(totalMode));
+  }
+}
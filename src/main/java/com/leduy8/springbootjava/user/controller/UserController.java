@@ -1,12 +1,24 @@
 package com.leduy8.springbootjava.user.controller;
 
+import com.leduy8.springbootjava.core.dto.CursorPaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.ETagged;
 import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.core.utils.ETagUtil;
+import com.leduy8.springbootjava.user.dto.ExportFormat;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateRequestDTO;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResponseDTO;
 import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
 import com.leduy8.springbootjava.user.dto.UserResponseDTO;
 import com.leduy8.springbootjava.user.dto.UserUpdateRequestDTO;
+import com.leduy8.springbootjava.user.service.UserExportService;
+import com.leduy8.springbootjava.user.service.UserImportService;
 import com.leduy8.springbootjava.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,58 +26,109 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
   private final UserService userService;
+  private final UserExportService userExportService;
+  private final UserImportService userImportService;
 
   @PostMapping
   public ResponseEntity<UserResponseDTO> createUser(
       @Valid @RequestBody UserCreateRequestDTO request) {
-    if (userService.existsByEmail(request.email())) {
-      return ResponseEntity.badRequest().build();
-    }
     return ResponseEntity.ok(userService.createUser(request));
   }
 
+  @PostMapping("/bulk")
+  public ResponseEntity<UserBulkCreateResponseDTO> bulkCreateUsers(
+      @Valid @RequestBody UserBulkCreateRequestDTO request) {
+    return ResponseEntity.ok(userImportService.bulkCreateUsers(request.users()));
+  }
+
+  // An unconditional GET takes its ETag from the rows it loads; only an If-None-Match is worth the
+  // version-only lookup that can skip loading them.
   @GetMapping("/{id}")
-  public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
-    return userService
-        .getUserById(id)
-        .map(ResponseEntity::ok)
-        .orElseGet(() -> ResponseEntity.notFound().build());
+  public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id, WebRequest webRequest) {
+    if (isConditional(webRequest) && webRequest.checkNotModified(userService.getUserETag(id))) {
+      return null;
+    }
+    return tagged(userService.getTaggedUserById(id));
   }
 
   @GetMapping
   public ResponseEntity<PaginatedResponseDTO<UserResponseDTO>> getUsers(
       @RequestParam(defaultValue = "1") int page,
       @RequestParam(defaultValue = "10") int size,
-      @RequestParam(defaultValue = "id") String orderBy) {
-    return ResponseEntity.ok(userService.getUsers(page - 1, size, orderBy));
+      @RequestParam(defaultValue = "id") String orderBy,
+      @RequestParam(defaultValue = "exact") String totalMode,
+      WebRequest webRequest) {
+    final TotalMode mode = TotalMode.fromValue(totalMode);
+    if (isConditional(webRequest)
+        && webRequest.checkNotModified(userService.getUsersETag(page - 1, size, orderBy, mode))) {
+      return null;
+    }
+    return tagged(userService.getTaggedUsers(page - 1, size, orderBy, mode));
+  }
+
+  @GetMapping(params = "mode=cursor")
+  public ResponseEntity<CursorPaginatedResponseDTO<UserResponseDTO>> getUsersByCursor(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "id") String orderBy,
+      WebRequest webRequest) {
+    if (isConditional(webRequest)
+        && webRequest.checkNotModified(userService.getUsersByCursorETag(cursor, size, orderBy))) {
+      return null;
+    }
+    return tagged(userService.getTaggedUsersByCursor(cursor, size, orderBy));
+  }
+
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportUsers(
+      @RequestParam(defaultValue = "ndjson") String format) {
+    final ExportFormat exportFormat = ExportFormat.fromValue(format);
+    return ResponseEntity.ok()
+        .contentType(exportFormat.getMediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename("users." + exportFormat.getExtension())
+                .build()
+                .toString())
+        .body(out -> userExportService.export(exportFormat, out));
   }
 
   @PutMapping("/{id}")
   public ResponseEntity<UserResponseDTO> updateUser(
-      @PathVariable Long id, @Valid @RequestBody UserUpdateRequestDTO request) {
-    try {
-      return ResponseEntity.ok(userService.updateUser(id, request));
-    } catch (RuntimeException e) {
-      return ResponseEntity.notFound().build();
-    }
+      @PathVariable Long id,
+      @Valid @RequestBody UserUpdateRequestDTO request,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return tagged(userService.updateTaggedUser(id, request, ETagUtil.expectedVersion(ifMatch, id)));
   }
 
   @DeleteMapping("/{id}")
-  public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-    if (userService.getUserById(id).isEmpty()) {
-      return ResponseEntity.notFound().build();
-    }
-    userService.deleteUser(id);
+  public ResponseEntity<Void> deleteUser(
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    userService.deleteUser(id, ETagUtil.expectedVersion(ifMatch, id));
     return ResponseEntity.noContent().build();
   }
+
+  private static boolean isConditional(WebRequest webRequest) {
+    return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+  }
+
+  private static <T> ResponseEntity<T> tagged(ETagged<T> response) {
+    return ResponseEntity.ok().eTag(response.etag()).body(response.body());
+  }
 }
@@ -0,0 +1,33 @@
+package com.leduy8.springbootjava.user.dto;
+
+import com.leduy8.springbootjava.core.exception.InvalidRequestParameterException;
+import java.util.Arrays;
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+  NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+  CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  ExportFormat(MediaType mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  public static ExportFormat fromValue(String value) {
+    return Arrays.stream(values())
+        .filter(format -> format.name().equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(() -> new InvalidRequestParameterException("format"));
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+}
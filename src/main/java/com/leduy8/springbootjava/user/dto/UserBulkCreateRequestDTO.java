@@ -0,0 +1,9 @@
+package com.leduy8.springbootjava.user.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record UserBulkCreateRequestDTO(@NotEmpty List<@Valid UserCreateRequestDTO> users) {}
@@ -0,0 +1,17 @@
+package com.leduy8.springbootjava.user.dto;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record UserBulkCreateResponseDTO(
+    int created, int failed, List<UserBulkCreateResultDTO> results) {
+  public static UserBulkCreateResponseDTO of(List<UserBulkCreateResultDTO> results) {
+    final int created =
+        (int)
+            results.stream()
+                .filter(result -> result.status() == UserBulkCreateResultDTO.Status.CREATED)
+                .count();
+    return new UserBulkCreateResponseDTO(created, results.size() - created, results);
+  }
+}
@@ -0,0 +1,26 @@
+package com.leduy8.springbootjava.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserBulkCreateResultDTO(int index, String email, Status status, Long id) {
+  public enum Status {
+    CREATED,
+    DUPLICATE_EMAIL,
+    FAILED
+  }
+
+  public static UserBulkCreateResultDTO created(int index, String email, Long id) {
+    return new UserBulkCreateResultDTO(index, email, Status.CREATED, id);
+  }
+
+  public static UserBulkCreateResultDTO duplicate(int index, String email) {
+    return new UserBulkCreateResultDTO(index, email, Status.DUPLICATE_EMAIL, null);
+  }
+
+  public static UserBulkCreateResultDTO failed(int index, String email) {
+    return new UserBulkCreateResultDTO(index, email, Status.FAILED, null);
+  }
+}
@@ -2,6 +2,7 @@ package com.leduy8.springbootjava.user.dto;
 
 import com.leduy8.springbootjava.core.dto.BaseResponseDTO;
 import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.model.UserView;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,6 +22,11 @@ public class UserResponseDTO extends BaseResponseDTO<User> {
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
 
+  public static UserResponseDTO from(UserView view) {
+    return new UserResponseDTO(
+        view.id(), view.name(), view.email(), view.createdAt(), view.updatedAt());
+  }
+
   @Override
   public void mapFromEntity(User user) {
     this.id = user.getId();
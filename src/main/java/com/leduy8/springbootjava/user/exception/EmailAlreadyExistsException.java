@@ -0,0 +1,7 @@
+package com.leduy8.springbootjava.user.exception;
+
+public class EmailAlreadyExistsException extends RuntimeException {
+  public EmailAlreadyExistsException(String email) {
+    super("A user with email " + email + " already exists.");
+  }
+}
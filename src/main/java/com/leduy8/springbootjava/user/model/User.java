@@ -13,6 +13,10 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Getter
@@ -23,8 +27,13 @@ import lombok.Setter;
 @Table(
     name = "users",
     uniqueConstraints = {@UniqueConstraint(columnNames = "email")})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 public class User extends BaseEntity {
+  public static final String CACHE_REGION = "users";
+  public static final String NATURAL_ID_CACHE_REGION = "users-by-email";
 
+  @NaturalId
   @Email
   @NotBlank
   @Column(nullable = false, unique = true)
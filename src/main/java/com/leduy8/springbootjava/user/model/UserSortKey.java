@@ -0,0 +1,48 @@
+package com.leduy8.springbootjava.user.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/** Fields that user listings can be keyset-paginated on, always tie-broken by {@code id}. */
+public enum UserSortKey {
+  ID("id", "id", UserView::id, Long::valueOf),
+  NAME("name", "name", UserView::name, Function.identity()),
+  EMAIL("email", "email", UserView::email, Function.identity()),
+  CREATED_AT("createdAt", "created_at", UserView::createdAt, LocalDateTime::parse),
+  UPDATED_AT("updatedAt", "updated_at", UserView::updatedAt, LocalDateTime::parse);
+
+  private final String field;
+  private final String column;
+  private final Function<UserView, Object> getter;
+  private final Function<String, Object> parser;
+
+  UserSortKey(
+      String field, String column, Function<UserView, ?> getter, Function<String, ?> parser) {
+    this.field = field;
+    this.column = column;
+    this.getter = getter::apply;
+    this.parser = parser::apply;
+  }
+
+  public static Optional<UserSortKey> fromField(String field) {
+    return Arrays.stream(values()).filter(key -> key.field.equals(field)).findFirst();
+  }
+
+  public String getField() {
+    return field;
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  public String format(UserView user) {
+    return String.valueOf(getter.apply(user));
+  }
+
+  public Object parse(String value) {
+    return parser.apply(value);
+  }
+}
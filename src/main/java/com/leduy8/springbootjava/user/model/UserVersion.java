@@ -0,0 +1,6 @@
+package com.leduy8.springbootjava.user.model;
+
+import java.time.LocalDateTime;
+
+/** Just enough of a user row to tell whether a cached representation is still current. */
+public record UserVersion(Long id, LocalDateTime updatedAt) {}
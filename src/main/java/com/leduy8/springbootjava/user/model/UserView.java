@@ -0,0 +1,16 @@
+package com.leduy8.springbootjava.user.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the columns exposed by the API. Selected via constructor expressions, so
+ * it never carries the password hash and is never tracked by the persistence context. The version
+ * is not exposed; it only feeds the ETag.
+ */
+public record UserView(
+    Long id,
+    String name,
+    String email,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    long version) {}
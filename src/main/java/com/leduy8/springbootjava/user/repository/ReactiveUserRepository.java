@@ -0,0 +1,82 @@
+package com.leduy8.springbootjava.user.repository;
+
+import com.leduy8.springbootjava.auth.model.AuthenticatedPrincipal;
+import com.leduy8.springbootjava.user.model.UserSortKey;
+import com.leduy8.springbootjava.user.model.UserView;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Non-blocking reads of the {@code users} table for the reactive web stack. */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+  private static final String SELECT_VIEW =
+      "SELECT id, name, email, created_at, updated_at, version FROM users";
+
+  private final DatabaseClient databaseClient;
+
+  public Mono<UserView> findViewByIdAndIsDeletedFalse(Long id) {
+    return databaseClient
+        .sql(SELECT_VIEW + " WHERE id = :id AND is_deleted = false")
+        .bind("id", id)
+        .map(ReactiveUserRepository::toView)
+        .one();
+  }
+
+  public Flux<UserView> findViewsByIsDeletedFalse(
+      UserSortKey sortKey, boolean descending, long offset, int limit) {
+    // The column comes from the enum, never from the request, so it is safe to inline.
+    final String direction = descending ? " DESC" : " ASC";
+    final String orderBy =
+        sortKey == UserSortKey.ID
+            ? "id" + direction
+            : sortKey.getColumn() + direction + ", id" + direction;
+    return databaseClient
+        .sql(
+            SELECT_VIEW
+                + " WHERE is_deleted = false ORDER BY "
+                + orderBy
+                + " LIMIT :limit OFFSET :offset")
+        .bind("limit", limit)
+        .bind("offset", offset)
+        .map(ReactiveUserRepository::toView)
+        .all();
+  }
+
+  public Mono<Long> countByIsDeletedFalse() {
+    return databaseClient
+        .sql("SELECT count(*) AS total FROM users WHERE is_deleted = false")
+        .map(row -> row.get("total", Long.class))
+        .one();
+  }
+
+  public Mono<AuthenticatedPrincipal> findPrincipalByEmail(String email) {
+    return databaseClient
+        .sql("SELECT id, email, name FROM users WHERE email = :email AND is_deleted = false")
+        .bind("email", email)
+        .map(
+            row ->
+                new AuthenticatedPrincipal(
+                    row.get("id", Long.class),
+                    row.get("email", String.class),
+                    row.get("name", String.class)))
+        .one();
+  }
+
+  private static UserView toView(Readable row) {
+    return new UserView(
+        row.get("id", Long.class),
+        row.get("name", String.class),
+        row.get("email", String.class),
+        row.get("created_at", LocalDateTime.class),
+        row.get("updated_at", LocalDateTime.class),
+        row.get("version", Long.class));
+  }
+}
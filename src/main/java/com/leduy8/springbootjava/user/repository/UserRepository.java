@@ -1,22 +1,65 @@
 package com.leduy8.springbootjava.user.repository;
 
+import com.leduy8.springbootjava.auth.model.AuthenticatedPrincipal;
 import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.model.UserVersion;
+import com.leduy8.springbootjava.user.model.UserView;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-  Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+  String SELECT_VIEW =
+      "select new com.leduy8.springbootjava.user.model.UserView("
+          + "u.id, u.name, u.email, u.createdAt, u.updatedAt, u.version) from User u";
+  String SELECT_VERSION =
+      "select new com.leduy8.springbootjava.user.model.UserVersion(u.id, u.updatedAt) from User u";
 
   boolean existsByEmail(String email);
 
-  Optional<User> findByIdAndIsDeletedFalse(Long id);
+  @Query("select u.email from User u where u.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  @Query(
+      "select new com.leduy8.springbootjava.auth.model.AuthenticatedPrincipal(u.id, u.email, u.name)"
+          + " from User u where u.email = :email and u.isDeleted = false")
+  Optional<AuthenticatedPrincipal> findPrincipalByEmail(@Param("email") String email);
 
   Page<User> findAllByIsDeletedFalse(Pageable pageable);
 
+  @Query(SELECT_VIEW + " where u.id = :id and u.isDeleted = false")
+  Optional<UserView> findViewByIdAndIsDeletedFalse(@Param("id") Long id);
+
+  @Query(
+      value = SELECT_VIEW + " where u.isDeleted = false",
+      countQuery = "select count(u) from User u where u.isDeleted = false")
+  Page<UserView> findViewsByIsDeletedFalse(Pageable pageable);
+
+  @Query(SELECT_VIEW + " where u.isDeleted = false")
+  Slice<UserView> findViewSliceByIsDeletedFalse(Pageable pageable);
+
+  @Query("select u.version from User u where u.id = :id and u.isDeleted = false")
+  Optional<Long> findVersionByIdAndIsDeletedFalse(@Param("id") Long id);
+
+  boolean existsByIdAndIsDeletedFalse(Long id);
+
+  @Query(
+      value = SELECT_VERSION + " where u.isDeleted = false",
+      countQuery = "select count(u) from User u where u.isDeleted = false")
+  Page<UserVersion> findVersionsByIsDeletedFalse(Pageable pageable);
+
+  @Query(SELECT_VERSION + " where u.isDeleted = false")
+  Slice<UserVersion> findVersionSliceByIsDeletedFalse(Pageable pageable);
+
+  long countByIsDeletedFalse();
+
   Page<User> findAll(Pageable pageable);
 }
@@ -0,0 +1,34 @@
+package com.leduy8.springbootjava.user.repository;
+
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.model.UserSortKey;
+import com.leduy8.springbootjava.user.model.UserVersion;
+import com.leduy8.springbootjava.user.model.UserView;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+  /** Loads through the second-level cache instead of issuing a query. */
+  Optional<User> findByIdAndIsDeletedFalse(Long id);
+
+  /** Resolves the email through the natural-id cache, then loads the user like {@code findById}. */
+  Optional<User> findByEmail(String email);
+
+  /**
+   * Inserts the user unless its email is already taken, returning it with its generated id, or
+   * empty on a conflict. One statement on Postgres, so concurrent signups cannot both succeed.
+   */
+  Optional<User> insertIfEmailAbsent(User user);
+
+  /**
+   * Seeks past {@code (afterValue, afterId)} in {@code (sortKey, id)} order instead of using an
+   * offset. Pass a null {@code afterId} for the first page.
+   */
+  List<UserView> findAllByIsDeletedFalseAfter(
+      UserSortKey sortKey, boolean descending, Object afterValue, Long afterId, int limit);
+
+  /** Same seek as {@link #findAllByIsDeletedFalseAfter}, reading only ids and versions. */
+  List<UserVersion> findVersionsByIsDeletedFalseAfter(
+      UserSortKey sortKey, boolean descending, Object afterValue, Long afterId, int limit);
+}
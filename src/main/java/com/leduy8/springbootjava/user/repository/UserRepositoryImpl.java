@@ -0,0 +1,167 @@
+package com.leduy8.springbootjava.user.repository;
+
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.model.UserSortKey;
+import com.leduy8.springbootjava.user.model.UserVersion;
+import com.leduy8.springbootjava.user.model.UserView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+  private static final String COLUMNS =
+      "(id, name, email, password, is_deleted, created_at, updated_at, version)";
+
+  // Both draw a raw sequence value, past every block the pooled optimizer has handed out.
+  private static final String INSERT_ON_CONFLICT =
+      "INSERT INTO users "
+          + COLUMNS
+          + " VALUES (nextval('users_seq'), :name, :email, :password, false, :now, :now, 0)"
+          + " ON CONFLICT (email) DO NOTHING RETURNING id";
+
+  // H2 has no ON CONFLICT; the NOT EXISTS guard keeps a duplicate out, and FINAL TABLE hands back
+  // the new id the way RETURNING does.
+  private static final String INSERT_WHERE_ABSENT =
+      "SELECT id FROM FINAL TABLE (INSERT INTO users "
+          + COLUMNS
+          + " SELECT NEXT VALUE FOR users_seq, :name, :email, :password, false, :now, :now, 0"
+          + " WHERE NOT EXISTS (SELECT 1 FROM users WHERE email = :email))";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  private volatile Boolean postgres;
+
+  // Fragments do not inherit SimpleJpaRepository's read-only transaction; the natural-id lookup
+  // needs a session that outlives the unwrap call.
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<User> findByIdAndIsDeletedFalse(Long id) {
+    return Optional.ofNullable(entityManager.find(User.class, id))
+        .filter(user -> !user.isDeleted());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<User> findByEmail(String email) {
+    return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+  }
+
+  @Override
+  @Transactional
+  public Optional<User> insertIfEmailAbsent(User user) {
+    final LocalDateTime now = LocalDateTime.now();
+    final Long id =
+        insertReturningId(isPostgres() ? INSERT_ON_CONFLICT : INSERT_WHERE_ABSENT, user, now);
+    if (id == null) {
+      return Optional.empty();
+    }
+    user.setId(id);
+    user.setCreatedAt(now);
+    user.setUpdatedAt(now);
+    return Optional.of(user);
+  }
+
+  // Read through getResultList, the insert stays off Hibernate's bulk-update path, which would
+  // evict the whole User cache region; a new row has nothing cached to invalidate. Synchronizing
+  // on User only narrows the auto-flush to pending user writes.
+  private Long insertReturningId(String sql, User user, LocalDateTime now) {
+    final Query query = entityManager.createNativeQuery(sql);
+    query.unwrap(NativeQuery.class).addSynchronizedEntityClass(User.class);
+    final List<?> ids =
+        query
+            .setParameter("name", user.getName())
+            .setParameter("email", user.getEmail())
+            .setParameter("password", user.getPassword())
+            .setParameter("now", now)
+            .getResultList();
+    return ids.isEmpty() ? null : ((Number) ids.get(0)).longValue();
+  }
+
+  private boolean isPostgres() {
+    Boolean result = postgres;
+    if (result == null) {
+      final Dialect dialect =
+          entityManager
+              .getEntityManagerFactory()
+              .unwrap(SessionFactoryImplementor.class)
+              .getJdbcServices()
+              .getDialect();
+      result = dialect instanceof PostgreSQLDialect;
+      postgres = result;
+    }
+    return result;
+  }
+
+  @Override
+  public List<UserView> findAllByIsDeletedFalseAfter(
+      UserSortKey sortKey, boolean descending, Object afterValue, Long afterId, int limit) {
+    return seek(
+        UserRepository.SELECT_VIEW,
+        UserView.class,
+        sortKey,
+        descending,
+        afterValue,
+        afterId,
+        limit);
+  }
+
+  @Override
+  public List<UserVersion> findVersionsByIsDeletedFalseAfter(
+      UserSortKey sortKey, boolean descending, Object afterValue, Long afterId, int limit) {
+    return seek(
+        UserRepository.SELECT_VERSION,
+        UserVersion.class,
+        sortKey,
+        descending,
+        afterValue,
+        afterId,
+        limit);
+  }
+
+  private <T> List<T> seek(
+      String select,
+      Class<T> resultType,
+      UserSortKey sortKey,
+      boolean descending,
+      Object afterValue,
+      Long afterId,
+      int limit) {
+    final String field = "u." + sortKey.getField();
+    final String direction = descending ? "desc" : "asc";
+    final StringBuilder jpql = new StringBuilder(select).append(" where u.isDeleted = false");
+
+    if (afterId != null) {
+      final String operator = descending ? " < " : " > ";
+      if (sortKey == UserSortKey.ID) {
+        jpql.append(" and u.id").append(operator).append(":afterId");
+      } else {
+        jpql.append(" and (").append(field).append(", u.id)");
+        jpql.append(operator).append("(:afterValue, :afterId)");
+      }
+    }
+
+    jpql.append(" order by ").append(field).append(' ').append(direction);
+    if (sortKey != UserSortKey.ID) {
+      jpql.append(", u.id ").append(direction);
+    }
+
+    final TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultType);
+    if (afterId != null) {
+      query.setParameter("afterId", afterId);
+      if (sortKey != UserSortKey.ID) {
+        query.setParameter("afterValue", afterValue);
+      }
+    }
+    return query.setMaxResults(limit).getResultList();
+  }
+}
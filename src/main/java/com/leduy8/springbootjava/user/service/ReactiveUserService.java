@@ -0,0 +1,13 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.user.dto.UserResponseDTO;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+  Mono<UserResponseDTO> getUserById(Long id);
+
+  Mono<PaginatedResponseDTO<UserResponseDTO>> getUsers(
+      int page, int size, String orderBy, TotalMode totalMode);
+}
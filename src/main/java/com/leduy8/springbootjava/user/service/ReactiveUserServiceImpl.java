@@ -0,0 +1,105 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.core.exception.InvalidRequestParameterException;
+import com.leduy8.springbootjava.user.dto.UserResponseDTO;
+import com.leduy8.springbootjava.user.exception.UserNotFoundException;
+import com.leduy8.springbootjava.user.model.UserSortKey;
+import com.leduy8.springbootjava.user.model.UserView;
+import com.leduy8.springbootjava.user.repository.ReactiveUserRepository;
+import java.util.List;
+import java.util.OptionalLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+  private final ReactiveUserRepository reactiveUserRepository;
+  private final UserCountEstimator userCountEstimator;
+
+  @Override
+  public Mono<UserResponseDTO> getUserById(Long id) {
+    return reactiveUserRepository
+        .findViewByIdAndIsDeletedFalse(id)
+        .map(UserResponseDTO::from)
+        .switchIfEmpty(Mono.error(() -> new UserNotFoundException(id)));
+  }
+
+  @Override
+  public Mono<PaginatedResponseDTO<UserResponseDTO>> getUsers(
+      int page, int size, String orderBy, TotalMode totalMode) {
+    if (page < 0) {
+      return Mono.error(new InvalidRequestParameterException("page"));
+    }
+    if (size < 1) {
+      return Mono.error(new InvalidRequestParameterException("size"));
+    }
+    final boolean descending = orderBy.startsWith("-");
+    final UserSortKey sortKey = UserSortKey.fromField(orderBy.replace("-", "")).orElse(null);
+    if (sortKey == null) {
+      return Mono.error(new InvalidRequestParameterException("orderBy"));
+    }
+    final Pageable pageable = PageRequest.of(page, size);
+
+    return switch (totalMode) {
+      case EXACT ->
+          Mono.zip(
+                  findPage(sortKey, descending, pageable, size),
+                  reactiveUserRepository.countByIsDeletedFalse())
+              .map(
+                  result ->
+                      PaginatedResponseDTO.of(
+                          new PageImpl<>(result.getT1(), pageable, result.getT2()),
+                          UserResponseDTO::from));
+      case ESTIMATED ->
+          Mono.zip(findSlice(sortKey, descending, pageable), estimateTotal())
+              .map(
+                  result ->
+                      PaginatedResponseDTO.of(
+                          result.getT1(), result.getT2(), UserResponseDTO::from));
+      case NONE ->
+          findSlice(sortKey, descending, pageable)
+              .map(slice -> PaginatedResponseDTO.of(slice, UserResponseDTO::from));
+    };
+  }
+
+  // estimate() falls back to a blocking JPA count, which must not run on an event-loop thread, so
+  // an unknown estimate is seeded from an R2DBC count instead.
+  private Mono<Long> estimateTotal() {
+    return Mono.defer(
+        () -> {
+          final OptionalLong estimate = userCountEstimator.peek();
+          return estimate.isPresent()
+              ? Mono.just(estimate.getAsLong())
+              : reactiveUserRepository.countByIsDeletedFalse().map(userCountEstimator::seed);
+        });
+  }
+
+  private Mono<List<UserView>> findPage(
+      UserSortKey sortKey, boolean descending, Pageable pageable, int limit) {
+    return reactiveUserRepository
+        .findViewsByIsDeletedFalse(sortKey, descending, pageable.getOffset(), limit)
+        .collectList();
+  }
+
+  // One extra row tells us whether another page exists without a count query.
+  private Mono<SliceImpl<UserView>> findSlice(
+      UserSortKey sortKey, boolean descending, Pageable pageable) {
+    return findPage(sortKey, descending, pageable, pageable.getPageSize() + 1)
+        .map(
+            users -> {
+              final boolean hasNext = users.size() > pageable.getPageSize();
+              return new SliceImpl<>(
+                  hasNext ? users.subList(0, pageable.getPageSize()) : users, pageable, hasNext);
+            });
+  }
+}
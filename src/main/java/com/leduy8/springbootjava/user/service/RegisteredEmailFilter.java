@@ -0,0 +1,194 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.leduy8.springbootjava.core.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bloom filter of every email in the users table, so lookups for emails that were never registered
+ * are answered without a query. Deleted users stay in the filter: their emails are still taken.
+ *
+ * <p>Emails registered on this node are added as they are inserted. Emails registered on other
+ * nodes arrive through a periodic scan of recently created rows, which overlaps the previous scan
+ * to absorb clock skew and slow commits, so they can be missed for up to one sync interval. Until
+ * the first full build finishes, every email is reported as possibly present.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+  private static final String ALL_EMAILS = "SELECT email FROM users";
+  private static final String EMAILS_CREATED_SINCE =
+      "SELECT email FROM users WHERE created_at >= ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final long minimumInsertions;
+  private final double fpp;
+  private final Duration syncOverlap;
+  private final Counter negatives;
+  private final Counter positives;
+  private final Counter falsePositives;
+
+  // Orders syncs against the swap a rebuild ends with; the rebuild's full scan runs outside it.
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile BloomFilter filter;
+  private volatile LocalDateTime syncedUntil;
+
+  public RegisteredEmailFilter(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.users.email-filter.expected-insertions:1000000}") long minimumInsertions,
+      @Value("${app.users.email-filter.false-positive-probability:0.01}") double fpp,
+      @Value("${app.users.email-filter.sync-overlap:1m}") Duration syncOverlap,
+      @Value("${app.users.email-filter.fetch-size:1000}") int fetchSize) {
+    // Postgres only streams with a cursor inside a transaction; otherwise it buffers every row.
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.minimumInsertions = minimumInsertions;
+    this.fpp = fpp;
+    this.syncOverlap = syncOverlap;
+
+    this.negatives = lookups(meterRegistry, "negative");
+    this.positives = lookups(meterRegistry, "positive");
+    // A subset of the positive lookups, so it gets its own meter rather than a third tag.
+    this.falsePositives =
+        Counter.builder("users.email.filter.false.positives")
+            .description("Positive lookups the users table then contradicted")
+            .register(meterRegistry);
+    Gauge.builder(
+            "users.email.filter.false.positive.rate",
+            this,
+            RegisteredEmailFilter::falsePositiveRate)
+        .description("False positives over all lookups for absent emails, as measured")
+        .register(meterRegistry);
+    Gauge.builder("users.email.filter.expected.fpp", this, RegisteredEmailFilter::expectedFpp)
+        .description("False-positive probability implied by the filter's fill")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns false when the email is not registered as of the last sync; an email another node
+   * registered since may still be missing. Never queries. A true answer must be confirmed against
+   * the table, and {@link #recordFalsePositive} called when the table disagrees.
+   */
+  public boolean mightContain(String email) {
+    final BloomFilter current = filter;
+    if (current == null) {
+      return true;
+    }
+    if (current.mightContain(email)) {
+      positives.increment();
+      return true;
+    }
+    negatives.increment();
+    return false;
+  }
+
+  public void recordFalsePositive() {
+    falsePositives.increment();
+  }
+
+  /** Adds an email as soon as its insert is issued; a rolled-back insert only costs a false hit. */
+  public void add(String email) {
+    final BloomFilter current = filter;
+    if (current != null) {
+      current.put(email);
+    }
+  }
+
+  /** Rebuilds from a full scan, resized for the current row count. */
+  @Scheduled(initialDelay = 0, fixedDelayString = "${app.users.email-filter.rebuild-interval:6h}")
+  public void rebuild() {
+    final LocalDateTime startedAt = LocalDateTime.now();
+    final Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+    final long expected = Math.max(minimumInsertions, 2 * (rows == null ? 0 : rows));
+    final BloomFilter rebuilt = BloomFilter.create(expected, fpp);
+    final long loaded = scan(rebuilt, ALL_EMAILS);
+
+    lock.lock();
+    try {
+      filter = rebuilt;
+      // Local adds and syncs that raced the scan went to the old filter; the next sync re-reads
+      // everything created since the scan started.
+      syncedUntil = startedAt;
+    } finally {
+      lock.unlock();
+    }
+    log.info(
+        "Built email filter: {} emails, {} bits, {} hash functions",
+        loaded,
+        rebuilt.bitSize(),
+        rebuilt.hashFunctions());
+  }
+
+  /** Picks up emails registered on other nodes since the previous sync. */
+  @Scheduled(
+      initialDelayString = "${app.users.email-filter.sync-interval:5s}",
+      fixedDelayString = "${app.users.email-filter.sync-interval:5s}")
+  public int sync() {
+    lock.lock();
+    try {
+      final BloomFilter current = filter;
+      if (current == null) {
+        return 0;
+      }
+      final LocalDateTime startedAt = LocalDateTime.now();
+      final int added =
+          (int)
+              scan(
+                  current, EMAILS_CREATED_SINCE, Timestamp.valueOf(syncedUntil.minus(syncOverlap)));
+      syncedUntil = startedAt;
+      return added;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long scan(BloomFilter target, String sql, Object... args) {
+    final AtomicLong count = new AtomicLong();
+    transactionTemplate.executeWithoutResult(
+        status ->
+            jdbcTemplate.query(
+                sql,
+                rs -> {
+                  target.put(rs.getString(1));
+                  count.incrementAndGet();
+                },
+                args));
+    return count.get();
+  }
+
+  private double falsePositiveRate() {
+    final double absent = negatives.count() + falsePositives.count();
+    return absent == 0 ? 0 : falsePositives.count() / absent;
+  }
+
+  private double expectedFpp() {
+    final BloomFilter current = filter;
+    return current == null ? 1 : current.expectedFpp();
+  }
+
+  private static Counter lookups(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("users.email.filter.lookups")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,60 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.leduy8.springbootjava.core.utils.TransactionUtil;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Running count of non-deleted users, adjusted as users are created or deleted and periodically
+ * reconciled with the table to absorb drift from rollbacks or writes on other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCountEstimator {
+  private static final long UNKNOWN = -1;
+
+  private final UserRepository userRepository;
+  private final AtomicLong count = new AtomicLong(UNKNOWN);
+
+  /** The running count, counting the table first if nothing is known yet. May block on JDBC. */
+  public long estimate() {
+    final long current = count.get();
+    return current == UNKNOWN ? reconcile() : current;
+  }
+
+  /** The running count if one is known, without ever querying. */
+  public OptionalLong peek() {
+    final long current = count.get();
+    return current == UNKNOWN ? OptionalLong.empty() : OptionalLong.of(current);
+  }
+
+  /** Adopts a count the caller took itself, unless one is already known; returns the estimate. */
+  public long seed(long exact) {
+    return count.updateAndGet(current -> current == UNKNOWN ? exact : current);
+  }
+
+  public void recordCreated(int users) {
+    TransactionUtil.afterCommit(() -> adjust(users));
+  }
+
+  public void recordDeleted() {
+    TransactionUtil.afterCommit(() -> adjust(-1));
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.users.count.reconcile-interval:5m}",
+      fixedDelayString = "${app.users.count.reconcile-interval:5m}")
+  public long reconcile() {
+    final long exact = userRepository.countByIsDeletedFalse();
+    count.set(exact);
+    return exact;
+  }
+
+  private void adjust(long delta) {
+    count.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : Math.max(0, current + delta));
+  }
+}
@@ -0,0 +1,10 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.leduy8.springbootjava.user.dto.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+  /** Streams every non-deleted user to {@code out}, returning the number of rows written. */
+  long export(ExportFormat format, OutputStream out) throws IOException;
+}
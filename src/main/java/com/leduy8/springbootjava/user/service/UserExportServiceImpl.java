@@ -0,0 +1,160 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leduy8.springbootjava.user.dto.ExportFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class UserExportServiceImpl implements UserExportService {
+  private static final String EXPORT_QUERY =
+      "SELECT id, name, email, created_at, updated_at FROM users"
+          + " WHERE is_deleted = false ORDER BY id";
+  private static final String CSV_HEADER = "id,name,email,createdAt,updatedAt\n";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final int flushEvery;
+
+  public UserExportServiceImpl(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      @Value("${app.users.export.fetch-size:1000}") int fetchSize) {
+    // Postgres only streams with a cursor inside a transaction; otherwise it buffers every row.
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.objectMapper = objectMapper;
+    this.flushEvery = fetchSize;
+  }
+
+  @Override
+  public long export(ExportFormat format, OutputStream out) throws IOException {
+    try {
+      return switch (format) {
+        case NDJSON -> exportNdjson(out);
+        case CSV -> exportCsv(out);
+      };
+    } catch (UncheckedIOException e) {
+      // The client went away mid-stream; the cursor and transaction are already closed.
+      log.debug("User export aborted: {}", e.getCause().getMessage());
+      throw e.getCause();
+    }
+  }
+
+  private long exportNdjson(OutputStream out) throws IOException {
+    try (JsonGenerator generator =
+        objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+      return streamRows(
+          rs -> {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("name", rs.getString("name"));
+            generator.writeStringField("email", rs.getString("email"));
+            generator.writeStringField("createdAt", formatTimestamp(rs, "created_at"));
+            generator.writeStringField("updatedAt", formatTimestamp(rs, "updated_at"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+          },
+          generator::flush);
+    }
+  }
+
+  private long exportCsv(OutputStream out) throws IOException {
+    try (Writer writer =
+        new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192)) {
+      writer.write(CSV_HEADER);
+      return streamRows(
+          rs -> {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writeCsvField(writer, rs.getString("name"));
+            writer.write(',');
+            writeCsvField(writer, rs.getString("email"));
+            writer.write(',');
+            writer.write(formatTimestamp(rs, "created_at"));
+            writer.write(',');
+            writer.write(formatTimestamp(rs, "updated_at"));
+            writer.write('\n');
+          },
+          writer::flush);
+    }
+  }
+
+  /**
+   * Writes rows as the cursor yields them. Blocking writes to a slow client stall the next fetch,
+   * so at most one fetch of rows is held in memory regardless of table size.
+   */
+  private long streamRows(RowWriter rowWriter, Flusher flusher) {
+    final AtomicLong rows = new AtomicLong();
+    transactionTemplate.executeWithoutResult(
+        status ->
+            jdbcTemplate.query(
+                EXPORT_QUERY,
+                (RowCallbackHandler)
+                    rs -> {
+                      try {
+                        rowWriter.write(rs);
+                        if (rows.incrementAndGet() % flushEvery == 0) {
+                          flusher.flush();
+                        }
+                      } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                      }
+                    }));
+    return rows.get();
+  }
+
+  private static String formatTimestamp(ResultSet rs, String column) throws SQLException {
+    return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(rs.getTimestamp(column).toLocalDateTime());
+  }
+
+  private static void writeCsvField(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  @FunctionalInterface
+  private interface RowWriter {
+    void write(ResultSet rs) throws SQLException, IOException;
+  }
+
+  @FunctionalInterface
+  private interface Flusher {
+    void flush() throws IOException;
+  }
+}
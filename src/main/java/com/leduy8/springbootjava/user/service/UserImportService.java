@@ -0,0 +1,10 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResponseDTO;
+import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
+import java.util.List;
+
+public interface UserImportService {
+  /** Creates every user it can, reporting a per-row outcome instead of failing the batch. */
+  UserBulkCreateResponseDTO bulkCreateUsers(List<UserCreateRequestDTO> requests);
+}
@@ -0,0 +1,159 @@
+package com.leduy8.springbootjava.user.service;
+
+import com.leduy8.springbootjava.core.exception.InvalidRequestParameterException;
+import com.leduy8.springbootjava.core.security.HashingPasswordEncoder;
+import com.leduy8.springbootjava.core.utils.DataAccessUtil;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResponseDTO;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResultDTO;
+import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+  private static final int EMAIL_LOOKUP_CHUNK = 1000;
+
+  private final UserRepository userRepository;
+  private final HashingPasswordEncoder passwordEncoder;
+  private final UserCountEstimator userCountEstimator;
+  private final RegisteredEmailFilter registeredEmailFilter;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxRows;
+
+  public UserImportServiceImpl(
+      UserRepository userRepository,
+      @Lazy HashingPasswordEncoder passwordEncoder,
+      UserCountEstimator userCountEstimator,
+      RegisteredEmailFilter registeredEmailFilter,
+      PlatformTransactionManager transactionManager,
+      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+      @Value("${app.users.bulk.max-rows:10000}") int maxRows) {
+    this.userRepository = userRepository;
+    this.passwordEncoder = passwordEncoder;
+    this.userCountEstimator = userCountEstimator;
+    this.registeredEmailFilter = registeredEmailFilter;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.maxRows = maxRows;
+  }
+
+  @Override
+  public UserBulkCreateResponseDTO bulkCreateUsers(List<UserCreateRequestDTO> requests) {
+    if (requests.size() > maxRows) {
+      throw new InvalidRequestParameterException("users");
+    }
+
+    final UserBulkCreateResultDTO[] results = new UserBulkCreateResultDTO[requests.size()];
+    final Set<String> taken = findExistingEmails(requests);
+    final List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      final String email = requests.get(i).email();
+      if (taken.add(email)) {
+        pending.add(i);
+      } else {
+        results[i] = UserBulkCreateResultDTO.duplicate(i, email);
+      }
+    }
+
+    // bcrypt dominates the cost, so finish hashing on the encoder's pool before any connection is
+    // borrowed.
+    final List<String> hashes =
+        passwordEncoder.encodeAll(pending.stream().map(i -> requests.get(i).password()).toList());
+    final List<User> users = new ArrayList<>(pending.size());
+    for (int i = 0; i < pending.size(); i++) {
+      users.add(newUser(requests.get(pending.get(i)), hashes.get(i)));
+    }
+
+    int created = 0;
+    for (int from = 0; from < pending.size(); from += batchSize) {
+      final int to = Math.min(from + batchSize, pending.size());
+      created += insertBatch(pending.subList(from, to), users.subList(from, to), results);
+    }
+    userCountEstimator.recordCreated(created);
+
+    return UserBulkCreateResponseDTO.of(Arrays.asList(results));
+  }
+
+  private Set<String> findExistingEmails(List<UserCreateRequestDTO> requests) {
+    final List<String> emails = requests.stream().map(UserCreateRequestDTO::email).toList();
+    final Set<String> existing = new HashSet<>();
+    for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK) {
+      final int to = Math.min(from + EMAIL_LOOKUP_CHUNK, emails.size());
+      existing.addAll(userRepository.findExistingEmails(emails.subList(from, to)));
+    }
+    return existing;
+  }
+
+  /** Inserts one JDBC batch, retrying row by row if any row in it violated a constraint. */
+  private int insertBatch(
+      List<Integer> indexes, List<User> users, UserBulkCreateResultDTO[] results) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            userRepository.saveAll(users);
+            userRepository.flush();
+          });
+      for (int i = 0; i < users.size(); i++) {
+        final User user = users.get(i);
+        registeredEmailFilter.add(user.getEmail());
+        results[indexes.get(i)] =
+            UserBulkCreateResultDTO.created(indexes.get(i), user.getEmail(), user.getId());
+      }
+      return users.size();
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Batch insert hit a constraint, retrying {} rows individually", users.size());
+    }
+
+    int created = 0;
+    for (int i = 0; i < users.size(); i++) {
+      final int index = indexes.get(i);
+      final User user = copyOf(users.get(i));
+      try {
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(user));
+        registeredEmailFilter.add(user.getEmail());
+        results[index] = UserBulkCreateResultDTO.created(index, user.getEmail(), user.getId());
+        created++;
+      } catch (DataIntegrityViolationException e) {
+        if (DataAccessUtil.isUniqueViolation(e)) {
+          results[index] = UserBulkCreateResultDTO.duplicate(index, user.getEmail());
+        } else {
+          log.warn(
+              "Bulk import row {} violated a constraint other than email uniqueness", index, e);
+          results[index] = UserBulkCreateResultDTO.failed(index, user.getEmail());
+        }
+      }
+    }
+    return created;
+  }
+
+  private static User newUser(UserCreateRequestDTO request, String passwordHash) {
+    return User.builder()
+        .name(request.name())
+        .email(request.email())
+        .password(passwordHash)
+        .build();
+  }
+
+  // The rolled-back batch left ids on its entities, so retry with fresh instances.
+  private static User copyOf(User user) {
+    return User.builder()
+        .name(user.getName())
+        .email(user.getEmail())
+        .password(user.getPassword())
+        .build();
+  }
+}
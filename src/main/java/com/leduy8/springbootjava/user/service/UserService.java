@@ -1,6 +1,9 @@
 package com.leduy8.springbootjava.user.service;
 
+import com.leduy8.springbootjava.core.dto.CursorPaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.ETagged;
 import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
 import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
 import com.leduy8.springbootjava.user.dto.UserResponseDTO;
 import com.leduy8.springbootjava.user.dto.UserUpdateRequestDTO;
@@ -10,13 +13,54 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 public interface UserService extends UserDetailsService {
   UserResponseDTO createUser(UserCreateRequestDTO request);
 
+  /** The user, or empty if it is missing or soft-deleted. */
   Optional<UserResponseDTO> getUserById(Long id);
 
-  PaginatedResponseDTO<UserResponseDTO> getUsers(int page, int size, String orderBy);
+  PaginatedResponseDTO<UserResponseDTO> getUsers(
+      int page, int size, String orderBy, TotalMode totalMode);
+
+  CursorPaginatedResponseDTO<UserResponseDTO> getUsersByCursor(
+      String cursor, int size, String orderBy);
+
+  /** The user and its strong {@code "id-version"} ETag, read from the same row. */
+  ETagged<UserResponseDTO> getTaggedUserById(Long id);
+
+  /** The page {@link #getUsers} returns, tagged from the rows it was built from. */
+  ETagged<PaginatedResponseDTO<UserResponseDTO>> getTaggedUsers(
+      int page, int size, String orderBy, TotalMode totalMode);
+
+  /** The page {@link #getUsersByCursor} returns, tagged from the rows it was built from. */
+  ETagged<CursorPaginatedResponseDTO<UserResponseDTO>> getTaggedUsersByCursor(
+      String cursor, int size, String orderBy);
+
+  /**
+   * The ETag {@link #getTaggedUserById} would return, from the version alone; throws if the user is
+   * missing. Only worth the query when answering an {@code If-None-Match}.
+   */
+  String getUserETag(Long id);
+
+  /** The ETag {@link #getTaggedUsers} would return, computed without building the page. */
+  String getUsersETag(int page, int size, String orderBy, TotalMode totalMode);
+
+  /** The ETag {@link #getTaggedUsersByCursor} would return, computed without building the page. */
+  String getUsersByCursorETag(String cursor, int size, String orderBy);
+
+  /**
+   * Renames the user through a versioned UPDATE. A non-null {@code expectedVersion} must match the
+   * stored version, otherwise a {@code PreconditionFailedException} is thrown.
+   */
+  UserResponseDTO updateUser(Long id, UserUpdateRequestDTO request, Long expectedVersion);
+
+  /** The renamed user {@link #updateUser} returns, tagged with the version the write produced. */
+  ETagged<UserResponseDTO> updateTaggedUser(
+      Long id, UserUpdateRequestDTO request, Long expectedVersion);
 
   UserResponseDTO updateUser(Long id, UserUpdateRequestDTO request);
 
   boolean existsByEmail(String email);
 
+  /** Soft-deletes the user, with the same version check as {@link #updateUser}. */
+  void deleteUser(Long id, Long expectedVersion);
+
   void deleteUser(Long id);
 }
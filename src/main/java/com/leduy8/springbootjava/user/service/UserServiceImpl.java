@@ -1,18 +1,35 @@
 package com.leduy8.springbootjava.user.service;
 
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.core.cache.CacheInvalidationBus;
+import com.leduy8.springbootjava.core.dto.CursorPaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.ETagged;
 import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.core.exception.InvalidRequestParameterException;
+import com.leduy8.springbootjava.core.exception.PreconditionFailedException;
+import com.leduy8.springbootjava.core.utils.CursorUtil;
+import com.leduy8.springbootjava.core.utils.ETagUtil;
 import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
 import com.leduy8.springbootjava.user.dto.UserResponseDTO;
 import com.leduy8.springbootjava.user.dto.UserUpdateRequestDTO;
+import com.leduy8.springbootjava.user.exception.EmailAlreadyExistsException;
 import com.leduy8.springbootjava.user.exception.UserNotFoundException;
 import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.model.UserSortKey;
+import com.leduy8.springbootjava.user.model.UserVersion;
+import com.leduy8.springbootjava.user.model.UserView;
 import com.leduy8.springbootjava.user.repository.UserRepository;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,80 +37,311 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-@Transactional
 public class UserServiceImpl implements UserService {
 
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
+  private final PrincipalCache principalCache;
+  private final UserCountEstimator userCountEstimator;
+  private final CacheInvalidationBus cacheInvalidationBus;
+  private final RegisteredEmailFilter registeredEmailFilter;
 
-  public UserServiceImpl(UserRepository userRepository, @Lazy PasswordEncoder passwordEncoder) {
+  public UserServiceImpl(
+      UserRepository userRepository,
+      @Lazy PasswordEncoder passwordEncoder,
+      PrincipalCache principalCache,
+      UserCountEstimator userCountEstimator,
+      CacheInvalidationBus cacheInvalidationBus,
+      RegisteredEmailFilter registeredEmailFilter) {
     this.userRepository = userRepository;
     this.passwordEncoder = passwordEncoder;
+    this.principalCache = principalCache;
+    this.userCountEstimator = userCountEstimator;
+    this.cacheInvalidationBus = cacheInvalidationBus;
+    this.registeredEmailFilter = registeredEmailFilter;
   }
 
+  /**
+   * Not transactional on purpose: the bcrypt hash finishes before the insert borrows a connection,
+   * so signup bursts do not drain the pool while hashing.
+   */
   @Override
   public UserResponseDTO createUser(UserCreateRequestDTO request) {
-    User user =
-        User.builder()
-            .name(request.name())
-            .email(request.email())
-            .password(passwordEncoder.encode(request.password()))
-            .build();
-    user = userRepository.save(user);
+    // Duplicates are turned away before bcrypt; the filter spares new emails even the probe.
+    if (registeredEmailFilter.mightContain(request.email())) {
+      if (userRepository.existsByEmail(request.email())) {
+        throw new EmailAlreadyExistsException(request.email());
+      }
+      registeredEmailFilter.recordFalsePositive();
+    }
+    final String passwordHash = passwordEncoder.encode(request.password());
+    final User user =
+        userRepository
+            .insertIfEmailAbsent(
+                User.builder()
+                    .name(request.name())
+                    .email(request.email())
+                    .password(passwordHash)
+                    .build())
+            .orElseThrow(() -> new EmailAlreadyExistsException(request.email()));
+    registeredEmailFilter.add(user.getEmail());
+    userCountEstimator.recordCreated(1);
     return UserResponseDTO.of(user, UserResponseDTO.class);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Optional<UserResponseDTO> getUserById(Long id) {
-    return userRepository
-        .findByIdAndIsDeletedFalse(id)
-        .map((user) -> UserResponseDTO.of(user, UserResponseDTO.class))
-        .or(
-            () -> {
-              throw new UserNotFoundException(id);
-            });
+    return userRepository.findViewByIdAndIsDeletedFalse(id).map(UserResponseDTO::from);
   }
 
   @Override
-  public PaginatedResponseDTO<UserResponseDTO> getUsers(int page, int size, String orderBy) {
-    final Sort.Direction direction =
-        orderBy.startsWith("-") ? Sort.Direction.DESC : Sort.Direction.ASC;
-    final String sortField = orderBy.replace("-", "");
-    final Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
-    final Page<User> userPage = userRepository.findAllByIsDeletedFalse(pageable);
+  @Transactional(readOnly = true)
+  public PaginatedResponseDTO<UserResponseDTO> getUsers(
+      int page, int size, String orderBy, TotalMode totalMode) {
+    return getTaggedUsers(page, size, orderBy, totalMode).body();
+  }
 
-    return PaginatedResponseDTO.of(userPage, UserResponseDTO.class);
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPaginatedResponseDTO<UserResponseDTO> getUsersByCursor(
+      String cursor, int size, String orderBy) {
+    return getTaggedUsersByCursor(cursor, size, orderBy).body();
   }
 
   @Override
-  public UserResponseDTO updateUser(Long id, UserUpdateRequestDTO request) {
+  @Transactional(readOnly = true)
+  public ETagged<UserResponseDTO> getTaggedUserById(Long id) {
+    final UserView user =
+        userRepository
+            .findViewByIdAndIsDeletedFalse(id)
+            .orElseThrow(() -> new UserNotFoundException(id));
+    return new ETagged<>(UserResponseDTO.from(user), ETagUtil.of(id, user.version()));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ETagged<PaginatedResponseDTO<UserResponseDTO>> getTaggedUsers(
+      int page, int size, String orderBy, TotalMode totalMode) {
+    final Pageable pageable = toPageable(page, size, orderBy);
+
+    // The qualifiers must match getUsersETag, so a tag served here still answers If-None-Match.
+    return switch (totalMode) {
+      case EXACT -> {
+        final Page<UserView> userPage = userRepository.findViewsByIsDeletedFalse(pageable);
+        yield new ETagged<>(
+            PaginatedResponseDTO.of(userPage, UserResponseDTO::from),
+            pageETag(versionsOf(userPage.getContent()), totalMode, userPage.getTotalElements()));
+      }
+      case ESTIMATED -> {
+        final Slice<UserView> userSlice = userRepository.findViewSliceByIsDeletedFalse(pageable);
+        final long estimate = userCountEstimator.estimate();
+        yield new ETagged<>(
+            PaginatedResponseDTO.of(userSlice, estimate, UserResponseDTO::from),
+            pageETag(versionsOf(userSlice.getContent()), totalMode, userSlice.hasNext(), estimate));
+      }
+      case NONE -> {
+        final Slice<UserView> userSlice = userRepository.findViewSliceByIsDeletedFalse(pageable);
+        yield new ETagged<>(
+            PaginatedResponseDTO.of(userSlice, UserResponseDTO::from),
+            pageETag(versionsOf(userSlice.getContent()), totalMode, userSlice.hasNext()));
+      }
+    };
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ETagged<CursorPaginatedResponseDTO<UserResponseDTO>> getTaggedUsersByCursor(
+      String cursor, int size, String orderBy) {
+    final Seek seek = toSeek(cursor, size, orderBy);
+
+    // One extra row tells us whether another page exists without a count query.
+    final List<UserView> users =
+        userRepository.findAllByIsDeletedFalseAfter(
+            seek.sortKey(), seek.descending(), seek.afterValue(), seek.afterId(), size + 1);
+    final boolean hasNext = users.size() > size;
+    final List<UserView> pageUsers = hasNext ? users.subList(0, size) : users;
+    final UserView last = pageUsers.isEmpty() ? null : pageUsers.get(pageUsers.size() - 1);
+    final String nextCursor =
+        hasNext ? CursorUtil.encode(orderBy, seek.sortKey().format(last), last.id()) : null;
+
+    return new ETagged<>(
+        CursorPaginatedResponseDTO.of(
+            pageUsers.stream().map(UserResponseDTO::from).toList(), size, nextCursor),
+        pageETag(versionsOf(pageUsers), hasNext));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getUserETag(Long id) {
     return userRepository
-        .findByIdAndIsDeletedFalse(id)
-        .map(
-            existingUser -> {
-              existingUser.setName(request.name());
-              return UserResponseDTO.of(userRepository.save(existingUser), UserResponseDTO.class);
-            })
+        .findVersionByIdAndIsDeletedFalse(id)
+        .map(version -> ETagUtil.of(id, version))
         .orElseThrow(() -> new UserNotFoundException(id));
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public String getUsersETag(int page, int size, String orderBy, TotalMode totalMode) {
+    final Pageable pageable = toPageable(page, size, orderBy);
+
+    // Mirrors getUsers, reading only (id, updatedAt) plus whatever totals the body would carry.
+    return switch (totalMode) {
+      case EXACT -> {
+        final Page<UserVersion> versions = userRepository.findVersionsByIsDeletedFalse(pageable);
+        yield pageETag(versions.getContent(), totalMode, versions.getTotalElements());
+      }
+      case ESTIMATED -> {
+        final Slice<UserVersion> versions =
+            userRepository.findVersionSliceByIsDeletedFalse(pageable);
+        yield pageETag(
+            versions.getContent(), totalMode, versions.hasNext(), userCountEstimator.estimate());
+      }
+      case NONE -> {
+        final Slice<UserVersion> versions =
+            userRepository.findVersionSliceByIsDeletedFalse(pageable);
+        yield pageETag(versions.getContent(), totalMode, versions.hasNext());
+      }
+    };
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getUsersByCursorETag(String cursor, int size, String orderBy) {
+    final Seek seek = toSeek(cursor, size, orderBy);
+    final List<UserVersion> versions =
+        userRepository.findVersionsByIsDeletedFalseAfter(
+            seek.sortKey(), seek.descending(), seek.afterValue(), seek.afterId(), size + 1);
+    final boolean hasNext = versions.size() > size;
+    return pageETag(hasNext ? versions.subList(0, size) : versions, hasNext);
+  }
+
+  @Override
+  @Transactional
+  public UserResponseDTO updateUser(Long id, UserUpdateRequestDTO request) {
+    return updateUser(id, request, null);
+  }
+
+  @Override
+  @Transactional
+  public UserResponseDTO updateUser(Long id, UserUpdateRequestDTO request, Long expectedVersion) {
+    return updateTaggedUser(id, request, expectedVersion).body();
+  }
+
+  @Override
+  @Transactional
+  public ETagged<UserResponseDTO> updateTaggedUser(
+      Long id, UserUpdateRequestDTO request, Long expectedVersion) {
+    final User user = findForWrite(id, expectedVersion);
+    user.setName(request.name());
+    flushVersioned(expectedVersion);
+
+    principalCache.invalidateById(id);
+    cacheInvalidationBus.publish(User.class, id);
+    return new ETagged<>(
+        UserResponseDTO.of(user, UserResponseDTO.class), ETagUtil.of(id, user.getVersion()));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public boolean existsByEmail(String email) {
     return userRepository.existsByEmail(email);
   }
 
   @Override
+  @Transactional
   public void deleteUser(Long id) {
+    deleteUser(id, null);
+  }
+
+  @Override
+  @Transactional
+  public void deleteUser(Long id, Long expectedVersion) {
+    final User user = findForWrite(id, expectedVersion);
+    user.softDelete();
+    flushVersioned(expectedVersion);
+
+    principalCache.invalidateById(id);
+    cacheInvalidationBus.publish(User.class, id);
+    userCountEstimator.recordDeleted();
+  }
+
+  // Writes go through the managed entity so Hibernate's versioned UPDATE replaces only this row in
+  // the second-level cache; a bulk JPQL update would evict the whole User region.
+  private User findForWrite(Long id, Long expectedVersion) {
     final User user =
         userRepository
             .findByIdAndIsDeletedFalse(id)
             .orElseThrow(() -> new UserNotFoundException(id));
+    if (expectedVersion != null && user.getVersion() != expectedVersion) {
+      throw new PreconditionFailedException();
+    }
+    return user;
+  }
 
-    user.softDelete();
-    userRepository.save(user);
+  // Flushing here bumps the version the response reports. A writer that slipped in after the read
+  // fails the version check, which is a failed precondition only when the client sent one.
+  private void flushVersioned(Long expectedVersion) {
+    try {
+      userRepository.flush();
+    } catch (ObjectOptimisticLockingFailureException ex) {
+      if (expectedVersion != null) {
+        throw new PreconditionFailedException();
+      }
+      throw ex;
+    }
+  }
+
+  private static Pageable toPageable(int page, int size, String orderBy) {
+    final Sort.Direction direction =
+        orderBy.startsWith("-") ? Sort.Direction.DESC : Sort.Direction.ASC;
+    final String sortField = orderBy.replace("-", "");
+    return PageRequest.of(page, size, Sort.by(direction, sortField));
+  }
+
+  private static Seek toSeek(String cursor, int size, String orderBy) {
+    if (size < 1) {
+      throw new InvalidRequestParameterException("size");
+    }
+    final boolean descending = orderBy.startsWith("-");
+    final UserSortKey sortKey =
+        UserSortKey.fromField(orderBy.replace("-", ""))
+            .orElseThrow(() -> new InvalidRequestParameterException("orderBy"));
+
+    if (cursor == null || cursor.isEmpty()) {
+      return new Seek(sortKey, descending, null, null);
+    }
+    final CursorUtil.Cursor position = CursorUtil.decode(cursor);
+    if (!position.orderBy().equals(orderBy)) {
+      throw new InvalidRequestParameterException("cursor");
+    }
+    return new Seek(
+        sortKey, descending, parseSortValue(sortKey, position.sortValue()), position.id());
+  }
+
+  private static String pageETag(List<UserVersion> versions, Object... qualifiers) {
+    return ETagUtil.ofPage(
+        versions.stream().map(UserVersion::id).toList(),
+        versions.stream().map(UserVersion::updatedAt).max(Comparator.naturalOrder()).orElse(null),
+        qualifiers);
+  }
+
+  private static List<UserVersion> versionsOf(List<UserView> users) {
+    return users.stream().map(user -> new UserVersion(user.id(), user.updatedAt())).toList();
+  }
+
+  private static Object parseSortValue(UserSortKey sortKey, String value) {
+    try {
+      return sortKey.parse(value);
+    } catch (RuntimeException e) {
+      throw new InvalidRequestParameterException("cursor");
+    }
   }
 
+  private record Seek(UserSortKey sortKey, boolean descending, Object afterValue, Long afterId) {}
+
   @Override
+  @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
     final User user =
         userRepository
@@ -0,0 +1,36 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Creates the pooled {@code users_seq} sequence that replaces identity-generated ids, so Hibernate
+ * can batch inserts. Written in Java because the start value depends on existing rows, which plain
+ * SQL cannot express portably across Postgres and H2.
+ */
+public class V5__create_users_id_sequence extends BaseJavaMigration {
+  private static final int ALLOCATION_SIZE = 50;
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    // Hibernate's pooled optimizer hands out (value - 49 .. value), so the first block must
+    // begin right after the highest existing id.
+    final long start = nextFreeId(context) + ALLOCATION_SIZE - 1;
+    try (Statement statement = context.getConnection().createStatement()) {
+      statement.execute(
+          "CREATE SEQUENCE users_seq START WITH " + start + " INCREMENT BY " + ALLOCATION_SIZE);
+    }
+  }
+
+  private static long nextFreeId(Context context) throws SQLException {
+    try (Statement statement = context.getConnection().createStatement();
+        ResultSet resultSet =
+            statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM users")) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+}
@@ -0,0 +1,4 @@
+-- Composite (sort key, id) indexes back keyset pagination on GET /api/users?mode=cursor
+CREATE INDEX idx_users_name_id ON users (name, id);
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
+CREATE INDEX idx_users_updated_at_id ON users (updated_at, id);
@@ -0,0 +1,8 @@
+-- Outbox of second-level cache evictions that every node polls
+CREATE TABLE cache_invalidations (
+    id BIGSERIAL PRIMARY KEY,
+    entity_name VARCHAR(255) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,54 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.leduy8.springbootjava.core.utils.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+  @Test
+  void mightContain_WhenValueWasPut_ShouldReturnTrue() {
+    final BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain("user" + i + "@example.com"));
+    }
+  }
+
+  @Test
+  void mightContain_WhenFilledToCapacity_ShouldStayNearTheConfiguredRate() {
+    final BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("stranger" + i + "@example.com")) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    assertTrue(filter.expectedFpp() < 0.02, "expected fpp: " + filter.expectedFpp());
+  }
+
+  @Test
+  void mightContain_WhenEmpty_ShouldReturnFalse() {
+    final BloomFilter filter = BloomFilter.create(100, 0.01);
+
+    assertFalse(filter.mightContain("test@example.com"));
+  }
+
+  @Test
+  void create_WhenProbabilityIsOutOfRange_ShouldThrow() {
+    assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1));
+    assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+  }
+}
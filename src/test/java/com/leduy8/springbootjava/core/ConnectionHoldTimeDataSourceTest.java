@@ -0,0 +1,63 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.leduy8.springbootjava.core.jdbc.ConnectionHoldTimeDataSource;
+import com.leduy8.springbootjava.core.jdbc.ServiceMethodContext;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConnectionHoldTimeDataSourceTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private Connection connection;
+  private ConnectionHoldTimeDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    connection = mock(Connection.class);
+    final DataSource target = mock(DataSource.class);
+    when(target.getConnection()).thenReturn(connection);
+    dataSource = new ConnectionHoldTimeDataSource(target, () -> meterRegistry);
+  }
+
+  @Test
+  void getConnection_WhenClosed_ShouldRecordHoldTimeOnce() throws Exception {
+    // Given
+    final Connection borrowed = dataSource.getConnection();
+
+    // When
+    borrowed.close();
+    borrowed.close();
+
+    // Then
+    final Timer timer =
+        meterRegistry
+            .find(ConnectionHoldTimeDataSource.METRIC_NAME)
+            .tag("method", ServiceMethodContext.NONE)
+            .timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+    verify(connection, times(2)).close();
+  }
+
+  @Test
+  void getConnection_ShouldDelegateCallsToTheTarget() throws Exception {
+    when(connection.getAutoCommit()).thenReturn(true);
+
+    final Connection borrowed = dataSource.getConnection();
+
+    assertEquals(true, borrowed.getAutoCommit());
+    assertEquals(0, meterRegistry.getMeters().size());
+  }
+}
@@ -0,0 +1,52 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.leduy8.springbootjava.core.jdbc.ConnectionLimitingDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConnectionLimitingDataSourceTest {
+
+  private DataSource target;
+  private ConnectionLimitingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    target = mock(DataSource.class);
+    when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+  }
+
+  @Test
+  void getConnection_WhenAllPermitsAreTaken_ShouldTimeOut() throws Exception {
+    // Given
+    final Connection first = dataSource.getConnection();
+    dataSource.getConnection();
+
+    // When & Then
+    assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+    first.close();
+    first.close();
+    assertEquals(1, dataSource.availablePermits());
+    dataSource.getConnection();
+  }
+
+  @Test
+  void getConnection_WhenTargetFails_ShouldReturnThePermit() throws Exception {
+    when(target.getConnection()).thenThrow(new SQLException("down"));
+
+    assertThrows(SQLException.class, dataSource::getConnection);
+
+    assertEquals(2, dataSource.availablePermits());
+  }
+}
@@ -0,0 +1,40 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.leduy8.springbootjava.core.utils.DataAccessUtil;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+public class DataAccessUtilTest {
+
+  @Test
+  void isUniqueViolation_WhenCauseHasUniqueSqlState_ShouldReturnTrue() {
+    // Given
+    final DataIntegrityViolationException ex =
+        new DataIntegrityViolationException(
+            "insert failed", new SQLException("duplicate key", "23505"));
+
+    // When & Then
+    assertTrue(DataAccessUtil.isUniqueViolation(ex));
+  }
+
+  @Test
+  void isUniqueViolation_WhenDuplicateKeyException_ShouldReturnTrue() {
+    assertTrue(DataAccessUtil.isUniqueViolation(new DuplicateKeyException("duplicate key")));
+  }
+
+  @Test
+  void isUniqueViolation_WhenNotNullIsViolated_ShouldReturnFalse() {
+    // Given
+    final DataIntegrityViolationException ex =
+        new DataIntegrityViolationException(
+            "insert failed", new SQLException("null value in column", "23502"));
+
+    // When & Then
+    assertFalse(DataAccessUtil.isUniqueViolation(ex));
+  }
+}
@@ -0,0 +1,85 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.leduy8.springbootjava.core.exception.DtoMappingException;
+import com.leduy8.springbootjava.core.mapper.DtoMapperRegistry;
+import com.leduy8.springbootjava.user.dto.UserResponseDTO;
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.model.UserView;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DtoMapperRegistryTest {
+
+  private User user;
+
+  record UserSummary(Long id, String email, boolean deleted) {}
+
+  record Unmappable(String nickname) {}
+
+  @BeforeEach
+  void setUp() {
+    user = User.builder().name("Test User").email("test@example.com").password("secret").build();
+    user.setId(1L);
+    user.setCreatedAt(LocalDateTime.now());
+    user.setUpdatedAt(LocalDateTime.now());
+  }
+
+  @Test
+  void map_ToBaseResponseDTO_ShouldUseMapFromEntity() {
+    final UserResponseDTO dto = DtoMapperRegistry.map(user, UserResponseDTO.class);
+
+    assertEquals(1L, dto.getId());
+    assertEquals("Test User", dto.getName());
+    assertEquals(user.getCreatedAt(), dto.getCreatedAt());
+  }
+
+  @Test
+  void map_WithStaticFromFactory_ShouldUseFactory() {
+    final UserView view =
+        new UserView(
+            2L, "Viewed", "view@example.com", LocalDateTime.now(), LocalDateTime.now(), 0L);
+
+    final UserResponseDTO dto = DtoMapperRegistry.map(view, UserResponseDTO.class);
+
+    assertEquals(2L, dto.getId());
+    assertEquals("view@example.com", dto.getEmail());
+  }
+
+  @Test
+  void map_ToRecord_ShouldFillComponentsFromGetters() {
+    user.softDelete();
+
+    final UserSummary summary = DtoMapperRegistry.map(user, UserSummary.class);
+
+    assertEquals(new UserSummary(1L, "test@example.com", true), summary);
+  }
+
+  @Test
+  void mapper_ShouldBeResolvedOncePerClassPair() {
+    assertSame(
+        DtoMapperRegistry.mapper(User.class, UserSummary.class),
+        DtoMapperRegistry.mapper(User.class, UserSummary.class));
+  }
+
+  @Test
+  void mapAll_ShouldPreserveOrder() {
+    final User other = User.builder().name("Other").email("other@example.com").build();
+    other.setId(3L);
+
+    final List<UserSummary> summaries =
+        DtoMapperRegistry.mapAll(List.of(user, other), UserSummary.class);
+
+    assertEquals(List.of(1L, 3L), summaries.stream().map(UserSummary::id).toList());
+  }
+
+  @Test
+  void map_WhenNoGetterMatches_ShouldThrowDtoMappingException() {
+    assertThrows(DtoMappingException.class, () -> DtoMapperRegistry.map(user, Unmappable.class));
+  }
+}
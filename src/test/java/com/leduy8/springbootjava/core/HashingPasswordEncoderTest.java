@@ -0,0 +1,104 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.leduy8.springbootjava.core.exception.PasswordHashingUnavailableException;
+import com.leduy8.springbootjava.core.security.HashingPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class HashingPasswordEncoderTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private HashingPasswordEncoder encoder;
+
+  @AfterEach
+  void tearDown() {
+    encoder.destroy();
+  }
+
+  @Test
+  void encode_ShouldProduceHashThatMatches() {
+    encoder = new HashingPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, meterRegistry);
+
+    final String hash = encoder.encode("password123");
+
+    assertTrue(encoder.matches("password123", hash));
+    assertFalse(encoder.matches("wrong", hash));
+    assertEquals(
+        1,
+        meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+    assertEquals(3, meterRegistry.get("password.hashing.wait").timer().count());
+  }
+
+  @Test
+  void encode_WhenQueueIsFull_ShouldFailFast() throws Exception {
+    // Given a single hashing thread stuck on one task and a queue holding one more
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    encoder =
+        new HashingPasswordEncoder(new BlockingEncoder(started, release), 1, 1, meterRegistry);
+    final CompletableFuture<String> running =
+        CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    final CompletableFuture<String> queued =
+        CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+    while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+      Thread.onSpinWait();
+    }
+
+    // When & Then
+    assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("c"));
+    assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+    release.countDown();
+    assertEquals("a", running.get(5, TimeUnit.SECONDS));
+    assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void encodeAll_WhenBatchOutgrowsTheQueue_ShouldHashEveryPasswordInOrder() {
+    // Given one hashing thread and a queue far smaller than the batch
+    encoder = new HashingPasswordEncoder(new BCryptPasswordEncoder(4), 1, 2, meterRegistry);
+    final List<String> passwords = IntStream.range(0, 20).mapToObj(i -> "password" + i).toList();
+
+    // When
+    final List<String> hashes = encoder.encodeAll(passwords);
+
+    // Then
+    assertEquals(passwords.size(), hashes.size());
+    for (int i = 0; i < passwords.size(); i++) {
+      assertTrue(encoder.matches(passwords.get(i), hashes.get(i)));
+    }
+    assertTrue(meterRegistry.find("password.hashing.rejected").counters().isEmpty());
+  }
+
+  private record BlockingEncoder(CountDownLatch started, CountDownLatch release)
+      implements PasswordEncoder {
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return rawPassword.toString();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return rawPassword.toString().equals(encodedPassword);
+    }
+  }
+}
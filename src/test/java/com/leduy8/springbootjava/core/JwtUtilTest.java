@@ -0,0 +1,139 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.leduy8.springbootjava.core.security.JwtKeyRing;
+import com.leduy8.springbootjava.core.utils.JwtUtil;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JwtUtilTest {
+
+  private static final String OLD_SECRET = secret('o');
+  private static final String NEW_SECRET = secret('n');
+
+  private JwtUtil jwtUtil;
+
+  @BeforeEach
+  void setUp() {
+    jwtUtil = new JwtUtil(JwtKeyRing.random(), 100);
+  }
+
+  @Test
+  void verify_WhenTokenIsValid_ShouldReturnEmail() {
+    final String token = jwtUtil.generateToken("test@example.com");
+
+    final Optional<JwtUtil.VerifiedToken> result = jwtUtil.verify(token);
+
+    assertTrue(result.isPresent());
+    assertEquals("test@example.com", result.get().email());
+    assertTrue(jwtUtil.validateToken(token, "test@example.com"));
+  }
+
+  @Test
+  void verify_WhenTokenIsTampered_ShouldReturnEmpty() {
+    final String token = jwtUtil.generateToken("test@example.com");
+
+    assertFalse(jwtUtil.verify(token + "x").isPresent());
+    assertFalse(jwtUtil.verify("not-a-token").isPresent());
+  }
+
+  @Test
+  void verify_WhenTokenIsRepeated_ShouldBeServedFromCache() {
+    final String token = jwtUtil.generateToken("test@example.com");
+
+    jwtUtil.verify(token);
+    jwtUtil.extractEmail(token);
+    jwtUtil.validateToken(token, "test@example.com");
+
+    assertEquals(1, jwtUtil.getClaimsCacheStats().missCount());
+    assertEquals(2, jwtUtil.getClaimsCacheStats().hitCount());
+  }
+
+  @Test
+  void verify_WhenTokenIsFromAnotherKey_ShouldReturnEmpty() {
+    final String token = new JwtUtil(JwtKeyRing.random(), 100).generateToken("test@example.com");
+
+    assertFalse(jwtUtil.verify(token).isPresent());
+  }
+
+  @Test
+  void verify_WhenTokenIsFromAnotherNodeWithTheSameKeys_ShouldReturnEmail() {
+    // Given
+    final JwtUtil issuer = new JwtUtil(JwtKeyRing.of(Map.of("2026-01", OLD_SECRET), null), 100);
+    final JwtUtil verifier = new JwtUtil(JwtKeyRing.of(Map.of("2026-01", OLD_SECRET), null), 100);
+
+    // When
+    final String token = issuer.generateToken("test@example.com");
+
+    // Then
+    assertEquals("test@example.com", verifier.extractEmail(token));
+  }
+
+  @Test
+  void verify_WhenKeysAreRotating_ShouldAcceptTokensSignedWithAnyLiveKey() {
+    // Given: a node still signing with the old key, and one already switched to the new key
+    final Map<String, String> liveKeys = Map.of("old", OLD_SECRET, "new", NEW_SECRET);
+    final JwtUtil oldSigner = new JwtUtil(JwtKeyRing.of(liveKeys, "old"), 100);
+    final JwtUtil newSigner = new JwtUtil(JwtKeyRing.of(liveKeys, "new"), 100);
+    final JwtUtil retired = new JwtUtil(JwtKeyRing.of(Map.of("new", NEW_SECRET), null), 100);
+
+    // When
+    final String oldToken = oldSigner.generateToken("test@example.com");
+    final String newToken = newSigner.generateToken("test@example.com");
+
+    // Then
+    assertTrue(newSigner.verify(oldToken).isPresent());
+    assertTrue(oldSigner.verify(newToken).isPresent());
+    assertTrue(retired.verify(newToken).isPresent());
+    assertFalse(retired.verify(oldToken).isPresent());
+  }
+
+  @Test
+  void generateToken_ShouldNameItsKeyInTheHeader() {
+    final JwtUtil signer = new JwtUtil(JwtKeyRing.of(Map.of("2026-01", OLD_SECRET), null), 100);
+
+    final String header = signer.generateToken("test@example.com").split("\\.")[0];
+
+    assertTrue(
+        new String(Base64.getUrlDecoder().decode(header), StandardCharsets.UTF_8)
+            .contains("\"kid\":\"2026-01\""));
+  }
+
+  @Test
+  void load_ShouldMergeInlineKeysWithTheKeyFile(@TempDir Path dir) throws Exception {
+    // Given
+    final Path keyFile = dir.resolve("jwt-keys.properties");
+    Files.writeString(keyFile, "new=" + NEW_SECRET + "\n");
+
+    // When
+    final JwtKeyRing keyRing = JwtKeyRing.load("old:" + OLD_SECRET, keyFile, "new");
+
+    // Then
+    assertEquals(2, keyRing.size());
+    assertEquals("new", keyRing.signingKeyId());
+  }
+
+  @Test
+  void load_WhenSeveralKeysAndNoSigningKeyId_ShouldThrow() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> JwtKeyRing.load("old:" + OLD_SECRET + ",new:" + NEW_SECRET, null, ""));
+    assertThrows(
+        IllegalArgumentException.class, () -> JwtKeyRing.load("old:" + OLD_SECRET, null, "new"));
+  }
+
+  private static String secret(char fill) {
+    return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes());
+  }
+}
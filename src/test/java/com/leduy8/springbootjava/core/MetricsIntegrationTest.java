@@ -0,0 +1,63 @@
+package com.leduy8.springbootjava.core;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Test
+  void prometheus_ShouldPublishApplicationMetersTaggedByEndpointAndOutcome() throws Exception {
+    // Given
+    mockMvc
+        .perform(
+            post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@email.com\",\"password\":\"password\"}"))
+        .andExpect(status().isUnauthorized());
+
+    // When & Then: scraped without a token
+    mockMvc
+        .perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .string(
+                    allOf(
+                        containsString(
+                            "service_method_seconds_count{application=\"spring-boot-java\","
+                                + "endpoint=\"POST /api/auth/login\","
+                                + "exception=\"InvalidCredentialException\","
+                                + "method=\"authenticate\",outcome=\"error\","
+                                + "service=\"AuthServiceImpl\"}"),
+                        containsString(
+                            "auth_jwt_filter_seconds_count{application=\"spring-boot-java\","
+                                + "endpoint=\"POST /api/auth/login\",outcome=\"anonymous\"}"),
+                        containsString("hikaricp_connections_acquire_seconds_count"),
+                        containsString("hibernate_query_executions_total"),
+                        containsString("hibernate_entities_loads_total"))));
+  }
+
+  @Test
+  void metrics_WithoutToken_ShouldStayProtected() throws Exception {
+    mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+  }
+}
@@ -0,0 +1,90 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.leduy8.springbootjava.core.jdbc.SqlInspection;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Records the statements a test body executes on its own thread, which includes MockMvc requests,
+ * so tests can pin how much database work an endpoint does. {@code @BeforeEach} and
+ * {@code @AfterEach} methods are not counted; call {@link #reset()} after any fixture work done
+ * inside the test itself. A JDBC batch counts as one statement, as it is one round trip.
+ */
+public class QueryCountExtension
+    implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+  public enum StatementKind {
+    SELECT,
+    INSERT,
+    UPDATE,
+    DELETE
+  }
+
+  private SqlInspection inspection;
+
+  @Override
+  public void beforeTestExecution(ExtensionContext context) {
+    reset();
+  }
+
+  @Override
+  public void afterTestExecution(ExtensionContext context) {
+    SqlInspection.finish();
+    inspection = null;
+  }
+
+  /** Forgets everything recorded so far in this test. */
+  public void reset() {
+    inspection = SqlInspection.start();
+  }
+
+  public int count(StatementKind kind) {
+    return inspection.statements().stream()
+        .filter(statement -> kindOf(statement.sql()) == kind)
+        .mapToInt(SqlInspection.Statement::count)
+        .sum();
+  }
+
+  public void assertCount(StatementKind kind, int expected) {
+    assertEquals(expected, count(kind), () -> kind + " statements:" + describe());
+  }
+
+  public void assertAtMost(StatementKind kind, int max) {
+    final int actual = count(kind);
+    assertTrue(
+        actual <= max,
+        () ->
+            "expected at most " + max + " " + kind + " statements but got " + actual + describe());
+  }
+
+  /** Asserts the exact number of each kind, in SELECT, INSERT, UPDATE, DELETE order. */
+  public void assertCounts(int selects, int inserts, int updates, int deletes) {
+    assertCount(StatementKind.SELECT, selects);
+    assertCount(StatementKind.INSERT, inserts);
+    assertCount(StatementKind.UPDATE, updates);
+    assertCount(StatementKind.DELETE, deletes);
+  }
+
+  private String describe() {
+    return inspection.statements().stream()
+        .map(
+            statement -> System.lineSeparator() + "  " + statement.count() + "x " + statement.sql())
+        .collect(Collectors.joining());
+  }
+
+  private static StatementKind kindOf(String sql) {
+    final String verb = sql.strip().split("\\s", 2)[0].toUpperCase(Locale.ROOT);
+    for (StatementKind kind : StatementKind.values()) {
+      if (kind.name().equals(verb)) {
+        return kind;
+      }
+    }
+    return null;
+  }
+}
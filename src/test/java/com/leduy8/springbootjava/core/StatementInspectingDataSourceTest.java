@@ -0,0 +1,78 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.leduy8.springbootjava.core.jdbc.SqlInspection;
+import com.leduy8.springbootjava.core.jdbc.StatementInspectingDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StatementInspectingDataSourceTest {
+
+  private Connection connection;
+  private StatementInspectingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    connection = mock(Connection.class);
+    final DataSource target = mock(DataSource.class);
+    when(target.getConnection()).thenReturn(connection);
+    dataSource = new StatementInspectingDataSource(target);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SqlInspection.finish();
+  }
+
+  @Test
+  void getConnection_WhenRequestIsSampled_ShouldGroupStatementsByShape() throws Exception {
+    // Given
+    final PreparedStatement prepared = mock(PreparedStatement.class);
+    when(connection.prepareStatement("select * from users where id = ?")).thenReturn(prepared);
+    final Statement plain = mock(Statement.class);
+    when(connection.createStatement()).thenReturn(plain);
+    final SqlInspection inspection = SqlInspection.start();
+
+    // When
+    try (Connection borrowed = dataSource.getConnection()) {
+      for (int i = 0; i < 3; i++) {
+        final PreparedStatement statement =
+            borrowed.prepareStatement("select * from users where id = ?");
+        statement.setLong(1, i);
+        statement.executeQuery();
+      }
+      borrowed.createStatement().execute("delete from users where email = 'a@example.com'");
+    }
+
+    // Then
+    assertEquals(4, inspection.count());
+    final List<SqlInspection.Statement> statements = inspection.statements();
+    assertEquals(2, statements.size());
+    final SqlInspection.Statement select =
+        statements.stream().filter(statement -> statement.count() == 3).findFirst().orElseThrow();
+    assertEquals("select * from users where id = ?", select.sql());
+  }
+
+  @Test
+  void getConnection_WhenRequestIsNotSampled_ShouldReturnTheTargetConnection() throws Exception {
+    assertSame(connection, dataSource.getConnection());
+  }
+
+  @Test
+  void normalize_ShouldCollapseLiteralsAndInLists() {
+    assertEquals(
+        "select * from users where email = ? and id in (?...) limit ?",
+        SqlInspection.normalize(
+            "select *  from users\n where email = 'o''brien@example.com' and id in (?, ?, ?) limit 10"));
+  }
+}
@@ -0,0 +1,150 @@
+package com.leduy8.springbootjava.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leduy8.springbootjava.core.logging.JsonLine;
+import com.leduy8.springbootjava.core.logging.StructuredLog;
+import com.leduy8.springbootjava.core.logging.StructuredLog.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+public class StructuredLogTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir private Path dir;
+
+  @Test
+  void begin_WhenClosed_ShouldWriteOneJsonLine() throws Exception {
+    // Given
+    final StructuredLog structuredLog =
+        structuredLog(8, OverflowPolicy.DROP, DataSize.ofMegabytes(1));
+    structuredLog.start();
+
+    // When
+    try (JsonLine line = structuredLog.begin("sql")) {
+      line.field("endpoint", "GET /api/users/{id}")
+          .field("quoted", "say \"hi\"\n\tvia \\ and \u0001 – ✓ 😀")
+          .field("count", 3)
+          .field("flagged", true)
+          .millis("sql_ms", 1_234_567)
+          .beginArray("top")
+          .beginObject()
+          .field("sql", "select ?")
+          .beginArray("methods")
+          .value("UserServiceImpl.getUserById")
+          .endArray()
+          .endObject()
+          .endArray();
+    }
+    structuredLog.stop();
+
+    // Then
+    final List<String> lines = Files.readAllLines(dir.resolve("app.jsonl"));
+    assertEquals(1, lines.size());
+    final JsonNode record = objectMapper.readTree(lines.get(0));
+    assertEquals("sql", record.get("type").asText());
+    assertEquals("say \"hi\"\n\tvia \\ and \u0001 – ✓ 😀", record.get("quoted").asText());
+    assertEquals(3, record.get("count").asInt());
+    assertEquals(1.234, record.get("sql_ms").asDouble());
+    assertEquals(
+        "UserServiceImpl.getUserById", record.get("top").get(0).get("methods").get(0).asText());
+  }
+
+  @Test
+  void begin_WhenRingIsFullAndPolicyIsDrop_ShouldCountTheDroppedRecords() {
+    // Given: the writer is not started, so nothing frees a slot
+    final StructuredLog structuredLog =
+        structuredLog(4, OverflowPolicy.DROP, DataSize.ofMegabytes(1));
+
+    // When
+    for (int i = 0; i < 6; i++) {
+      try (JsonLine line = structuredLog.begin("request")) {
+        line.field("i", i);
+      }
+    }
+
+    // Then
+    assertEquals(2, structuredLog.droppedCount("request"));
+  }
+
+  @Test
+  void begin_WhenRingIsFullAndPolicyIsBlock_ShouldWaitForTheWriter() throws Exception {
+    // Given
+    final StructuredLog structuredLog =
+        structuredLog(4, OverflowPolicy.BLOCK, DataSize.ofMegabytes(1));
+    structuredLog.start();
+    final ExecutorService producers = Executors.newFixedThreadPool(4);
+
+    // When
+    for (int producer = 0; producer < 4; producer++) {
+      producers.submit(
+          () -> {
+            for (int i = 0; i < 500; i++) {
+              try (JsonLine line = structuredLog.begin("request")) {
+                line.field("i", i);
+              }
+            }
+          });
+    }
+    producers.shutdown();
+    assertTrue(producers.awaitTermination(30, TimeUnit.SECONDS));
+    structuredLog.stop();
+
+    // Then
+    assertEquals(0, structuredLog.droppedCount("request"));
+    assertEquals(2_000, Files.readAllLines(dir.resolve("app.jsonl")).size());
+  }
+
+  @Test
+  void start_WhenFileOutgrowsItsLimit_ShouldRotate() throws Exception {
+    // Given
+    final StructuredLog structuredLog =
+        structuredLog(8, OverflowPolicy.BLOCK, DataSize.ofBytes(200));
+    structuredLog.start();
+
+    // When
+    for (int i = 0; i < 50; i++) {
+      try (JsonLine line = structuredLog.begin("request")) {
+        line.field("path", "/api/users/" + i);
+      }
+    }
+    structuredLog.stop();
+
+    // Then: at most two rotated files are kept beside the live one
+    assertTrue(Files.exists(dir.resolve("app.1.jsonl")));
+    assertTrue(Files.exists(dir.resolve("app.2.jsonl")));
+    assertTrue(Files.notExists(dir.resolve("app.3.jsonl")));
+    for (String name : List.of("app.jsonl", "app.1.jsonl", "app.2.jsonl")) {
+      for (String line : Files.readAllLines(dir.resolve(name))) {
+        assertEquals("request", objectMapper.readTree(line).get("type").asText());
+      }
+    }
+  }
+
+  private StructuredLog structuredLog(
+      int capacity, OverflowPolicy overflowPolicy, DataSize maxFileSize) {
+    return new StructuredLog(
+        new SimpleMeterRegistry(),
+        true,
+        dir.resolve("app.jsonl"),
+        capacity,
+        overflowPolicy,
+        maxFileSize,
+        2,
+        DataSize.ofKilobytes(1),
+        Duration.ofMillis(1));
+  }
+}
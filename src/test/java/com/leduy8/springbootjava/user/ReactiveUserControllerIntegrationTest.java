@@ -0,0 +1,144 @@
+package com.leduy8.springbootjava.user;
+
+import com.leduy8.springbootjava.core.utils.JwtUtil;
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// Data is committed over JPA so the separate R2DBC connections can see it.
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles({"reactive", "test"})
+public class ReactiveUserControllerIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private JwtUtil jwtUtil;
+
+  private final List<User> createdUsers = new ArrayList<>();
+  private User alice;
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    alice = _createTestUser("Alice", "alice@reactive.com");
+    _createTestUser("Bob", "bob@reactive.com");
+    token = jwtUtil.generateToken(alice.getEmail());
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteAll(createdUsers);
+    createdUsers.clear();
+  }
+
+  User _createTestUser(String name, String email) {
+    final User user = User.builder().name(name).email(email).password("mypassword").build();
+    user.setCreatedAt(LocalDateTime.now());
+    user.setUpdatedAt(LocalDateTime.now());
+    final User saved = userRepository.saveAndFlush(user);
+    createdUsers.add(saved);
+    return saved;
+  }
+
+  @Test
+  void getUserById_WhenUserExists_ShouldReturnUser() {
+    webTestClient
+        .get()
+        .uri("/api/users/{id}", alice.getId())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.id")
+        .isEqualTo(alice.getId())
+        .jsonPath("$.email")
+        .isEqualTo("alice@reactive.com")
+        .jsonPath("$.password")
+        .doesNotExist();
+  }
+
+  @Test
+  void getUserById_WhenUserIsMissing_ShouldReturnNotFound() {
+    webTestClient
+        .get()
+        .uri("/api/users/{id}", 999_999)
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        .exchange()
+        .expectStatus()
+        .isNotFound();
+  }
+
+  @Test
+  void getUserById_WhenTokenIsMissing_ShouldReturnForbidden() {
+    webTestClient
+        .get()
+        .uri("/api/users/{id}", alice.getId())
+        .exchange()
+        .expectStatus()
+        .isForbidden();
+  }
+
+  @Test
+  void getUsers_ShouldReturnSortedPageWithTotals() {
+    webTestClient
+        .get()
+        .uri("/api/users?page=1&size=1&orderBy=-name")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.data[0].name")
+        .isEqualTo("Bob")
+        .jsonPath("$.totalItems")
+        .isEqualTo(2)
+        .jsonPath("$.totalPages")
+        .isEqualTo(2)
+        .jsonPath("$.lastPage")
+        .isEqualTo(false);
+  }
+
+  @Test
+  void getUsers_WhenTotalModeIsNone_ShouldOmitTotals() {
+    webTestClient
+        .get()
+        .uri("/api/users?page=2&size=1&totalMode=none")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.data[0].name")
+        .isEqualTo("Bob")
+        .jsonPath("$.totalItems")
+        .doesNotExist()
+        .jsonPath("$.lastPage")
+        .isEqualTo(true);
+  }
+
+  @Test
+  void getUsers_WhenOrderByIsUnknown_ShouldReturnBadRequest() {
+    webTestClient
+        .get()
+        .uri("/api/users?orderBy=password")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+}
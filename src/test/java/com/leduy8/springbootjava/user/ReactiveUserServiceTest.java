@@ -0,0 +1,84 @@
+package com.leduy8.springbootjava.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.user.dto.UserResponseDTO;
+import com.leduy8.springbootjava.user.model.UserSortKey;
+import com.leduy8.springbootjava.user.model.UserView;
+import com.leduy8.springbootjava.user.repository.ReactiveUserRepository;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import com.leduy8.springbootjava.user.service.ReactiveUserServiceImpl;
+import com.leduy8.springbootjava.user.service.UserCountEstimator;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveUserServiceTest {
+
+  @Mock private ReactiveUserRepository reactiveUserRepository;
+
+  @Mock private UserRepository userRepository;
+
+  private UserCountEstimator userCountEstimator;
+  private ReactiveUserServiceImpl reactiveUserService;
+
+  @BeforeEach
+  void setUp() {
+    userCountEstimator = new UserCountEstimator(userRepository);
+    reactiveUserService = new ReactiveUserServiceImpl(reactiveUserRepository, userCountEstimator);
+    final UserView user =
+        new UserView(
+            1L, "Alice", "alice@reactive.com", LocalDateTime.now(), LocalDateTime.now(), 0L);
+    when(reactiveUserRepository.findViewsByIsDeletedFalse(
+            eq(UserSortKey.ID), eq(false), anyLong(), anyInt()))
+        .thenReturn(Flux.just(user));
+  }
+
+  @Test
+  void getUsers_WhenEstimateIsUnknown_ShouldSeedItWithoutBlockingJpa() {
+    // Given
+    when(reactiveUserRepository.countByIsDeletedFalse()).thenReturn(Mono.just(42L));
+
+    // When
+    final PaginatedResponseDTO<UserResponseDTO> first =
+        reactiveUserService.getUsers(0, 10, "id", TotalMode.ESTIMATED).block();
+    final PaginatedResponseDTO<UserResponseDTO> second =
+        reactiveUserService.getUsers(0, 10, "id", TotalMode.ESTIMATED).block();
+
+    // Then
+    assertEquals(42L, first.getTotalItems());
+    assertEquals(42L, second.getTotalItems());
+    assertEquals(42L, userCountEstimator.peek().getAsLong());
+    verify(reactiveUserRepository, times(1)).countByIsDeletedFalse();
+    verify(userRepository, never()).countByIsDeletedFalse();
+  }
+
+  @Test
+  void getUsers_WhenEstimateIsKnown_ShouldNotCount() {
+    // Given
+    userCountEstimator.seed(7);
+
+    // When
+    final PaginatedResponseDTO<UserResponseDTO> result =
+        reactiveUserService.getUsers(0, 10, "id", TotalMode.ESTIMATED).block();
+
+    // Then
+    assertEquals(7L, result.getTotalItems());
+    verify(reactiveUserRepository, never()).countByIsDeletedFalse();
+  }
+}
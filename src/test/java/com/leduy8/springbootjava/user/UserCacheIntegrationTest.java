@@ -0,0 +1,128 @@
+package com.leduy8.springbootjava.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.core.cache.JdbcCacheInvalidationBus;
+import com.leduy8.springbootjava.user.dto.UserUpdateRequestDTO;
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import com.leduy8.springbootjava.user.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// Not transactional: the second-level cache only sees committed data.
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserCacheIntegrationTest {
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private UserService userService;
+
+  @Autowired private JdbcCacheInvalidationBus cacheInvalidationBus;
+
+  @Autowired private PrincipalCache principalCache;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private SessionFactory sessionFactory;
+  private Statistics statistics;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    statistics = sessionFactory.getStatistics();
+    user =
+        userRepository.save(
+            User.builder().name("Cached").email("cached@email.com").password("mypassword").build());
+    sessionFactory.getCache().evictAllRegions();
+    cacheInvalidationBus.poll();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteById(user.getId());
+    jdbcTemplate.update("DELETE FROM cache_invalidations");
+  }
+
+  @Test
+  void findByIdAndIsDeletedFalse_WhenCalledTwice_ShouldHitSecondLevelCache() {
+    userRepository.findByIdAndIsDeletedFalse(user.getId());
+    userRepository.findByIdAndIsDeletedFalse(user.getId());
+
+    assertEquals(1, statistics.getSecondLevelCacheMissCount());
+    assertEquals(1, statistics.getSecondLevelCacheHitCount());
+  }
+
+  @Test
+  void findByEmail_WhenCalledTwice_ShouldResolveThroughNaturalIdCache() {
+    userRepository.findByEmail(user.getEmail());
+    userRepository.findByEmail(user.getEmail());
+
+    assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    assertEquals(1, statistics.getSecondLevelCacheHitCount());
+  }
+
+  @Test
+  void updateUser_ShouldPublishAnInvalidation() {
+    userService.updateUser(user.getId(), new UserUpdateRequestDTO("Renamed"));
+
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM cache_invalidations WHERE entity_id = ?",
+            Integer.class,
+            user.getId()));
+    // Its own row is skipped: the versioned update already refreshed the local copy.
+    assertEquals(0, cacheInvalidationBus.poll());
+    assertEquals(
+        "Renamed", userRepository.findByIdAndIsDeletedFalse(user.getId()).orElseThrow().getName());
+  }
+
+  @Test
+  void poll_WhenAnotherNodePublished_ShouldEvictTheEntity() {
+    userRepository.findByIdAndIsDeletedFalse(user.getId());
+    assertTrue(sessionFactory.getCache().containsEntity(User.class, user.getId()));
+
+    jdbcTemplate.update(
+        "INSERT INTO cache_invalidations (entity_name, entity_id, origin) VALUES (?, ?, ?)",
+        User.class.getName(),
+        user.getId(),
+        "another-node");
+
+    assertEquals(1, cacheInvalidationBus.poll());
+    assertFalse(sessionFactory.getCache().containsEntity(User.class, user.getId()));
+    assertEquals(0, cacheInvalidationBus.poll());
+  }
+
+  @Test
+  void poll_WhenAnotherNodeInvalidatedAUser_ShouldRevokeItsPrincipal() {
+    assertTrue(principalCache.get(user.getEmail()).isPresent());
+    jdbcTemplate.update(
+        "UPDATE users SET is_deleted = true, version = version + 1 WHERE id = ?", user.getId());
+
+    jdbcTemplate.update(
+        "INSERT INTO cache_invalidations (entity_name, entity_id, origin) VALUES (?, ?, ?)",
+        User.class.getName(),
+        user.getId(),
+        "another-node");
+
+    assertEquals(1, cacheInvalidationBus.poll());
+    assertFalse(principalCache.get(user.getEmail()).isPresent());
+  }
+}
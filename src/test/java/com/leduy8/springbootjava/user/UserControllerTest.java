@@ -1,39 +1,64 @@
 package com.leduy8.springbootjava.user;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leduy8.springbootjava.core.dto.CursorPaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.ETagged;
 import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
 import com.leduy8.springbootjava.core.exception.GlobalExceptionHandler;
+import com.leduy8.springbootjava.core.exception.PreconditionFailedException;
 import com.leduy8.springbootjava.user.controller.UserController;
+import com.leduy8.springbootjava.user.dto.ExportFormat;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateRequestDTO;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResponseDTO;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResultDTO;
 import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
 import com.leduy8.springbootjava.user.dto.UserResponseDTO;
 import com.leduy8.springbootjava.user.dto.UserUpdateRequestDTO;
+import com.leduy8.springbootjava.user.exception.EmailAlreadyExistsException;
 import com.leduy8.springbootjava.user.exception.UserNotFoundException;
 import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.service.UserExportService;
+import com.leduy8.springbootjava.user.service.UserImportService;
 import com.leduy8.springbootjava.user.service.UserService;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
@@ -46,6 +71,10 @@ class UserControllerTest {
 
   @Mock private UserService userService;
 
+  @Mock private UserExportService userExportService;
+
+  @Mock private UserImportService userImportService;
+
   @InjectMocks private UserController userController;
 
   private UserCreateRequestDTO createRequest;
@@ -70,7 +99,7 @@ class UserControllerTest {
     user.setId(1L);
     final UserResponseDTO userResponseDTO = UserResponseDTO.of(user, UserResponseDTO.class);
 
-    when(userService.getUserById(1L)).thenReturn(Optional.of(userResponseDTO));
+    when(userService.getTaggedUserById(1L)).thenReturn(new ETagged<>(userResponseDTO, "\"1-0\""));
 
     // When & Then
     mockMvc
@@ -80,20 +109,81 @@ class UserControllerTest {
         .andExpect(jsonPath("$.name", is("john_doe")))
         .andExpect(jsonPath("$.email", is("john@example.com")));
 
-    verify(userService, times(1)).getUserById(1L);
+    verify(userService, times(1)).getTaggedUserById(1L);
+  }
+
+  @Test
+  void testGetUserById_ShouldReturnETag_WithoutAVersionLookup() throws Exception {
+    // Given
+    final User user = User.builder().email("john@example.com").name("john_doe").build();
+    user.setId(1L);
+    when(userService.getTaggedUserById(1L))
+        .thenReturn(new ETagged<>(UserResponseDTO.of(user, UserResponseDTO.class), "\"1-abc\""));
+
+    // When & Then
+    mockMvc
+        .perform(get("/api/users/1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1-abc\""));
+
+    verify(userService, never()).getUserETag(1L);
+  }
+
+  @Test
+  void testGetUserById_ShouldReturnFreshBody_WhenETagIsStale() throws Exception {
+    // Given
+    final User user = User.builder().email("john@example.com").name("john_doe").build();
+    user.setId(1L);
+    when(userService.getUserETag(1L)).thenReturn("\"1-1\"");
+    when(userService.getTaggedUserById(1L))
+        .thenReturn(new ETagged<>(UserResponseDTO.of(user, UserResponseDTO.class), "\"1-1\""));
+
+    // When & Then
+    mockMvc
+        .perform(get("/api/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""))
+        .andExpect(jsonPath("$.id", is(1)));
+  }
+
+  @Test
+  void testGetUserById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+    // Given
+    when(userService.getUserETag(1L)).thenReturn("\"1-abc\"");
+
+    // When & Then
+    mockMvc
+        .perform(get("/api/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-abc\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    verify(userService, never()).getTaggedUserById(1L);
+  }
+
+  @Test
+  void testGetUsers_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+    // Given
+    when(userService.getUsersETag(0, 10, "id", TotalMode.EXACT)).thenReturn("\"p1-abc-def\"");
+
+    // When & Then
+    mockMvc
+        .perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, "\"p1-abc-def\""))
+        .andExpect(status().isNotModified());
+
+    verify(userService, never()).getTaggedUsers(0, 10, "id", TotalMode.EXACT);
   }
 
   @Test
   void testGetUserById_ShouldReturnNotFound_WhenUserDoesNotExist() throws Exception {
     // Given
-    when(userService.getUserById(2L)).thenThrow(new UserNotFoundException(2L));
+    when(userService.getTaggedUserById(2L)).thenThrow(new UserNotFoundException(2L));
 
     // When & Then
     mockMvc
         .perform(get("/api/users/2").contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isNotFound());
 
-    verify(userService, times(1)).getUserById(2L);
+    verify(userService, times(1)).getTaggedUserById(2L);
   }
 
   @Test
@@ -119,6 +209,57 @@ class UserControllerTest {
     verify(userService, times(1)).createUser(createRequest);
   }
 
+  @Test
+  void testCreateUser_ShouldReturnConflict_WhenEmailExists() throws Exception {
+    // Given
+    when(userService.createUser(createRequest))
+        .thenThrow(new EmailAlreadyExistsException(createRequest.email()));
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  void testCreateUser_ShouldReturnConflict_WhenUniqueConstraintFires() throws Exception {
+    // Given
+    when(userService.createUser(createRequest))
+        .thenThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("duplicate key value violates unique constraint", "23505")));
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  void testCreateUser_ShouldReturnServerError_WhenOtherConstraintFires() throws Exception {
+    // Given
+    when(userService.createUser(createRequest))
+        .thenThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("null value in column \"name\"", "23502")));
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+        .andExpect(status().isInternalServerError());
+  }
+
   @Test
   void testCreateUser_ShouldReturnBadRequest_WhenRequestIsInvalid() throws Exception {
     // Given: Invalid user request (missing email)
@@ -134,6 +275,45 @@ class UserControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void testBulkCreateUsers_ShouldReturnPerRowResults() throws Exception {
+    // Given
+    final UserBulkCreateRequestDTO bulkRequest =
+        new UserBulkCreateRequestDTO(List.of(createRequest, createRequest));
+    when(userImportService.bulkCreateUsers(bulkRequest.users()))
+        .thenReturn(
+            UserBulkCreateResponseDTO.of(
+                List.of(
+                    UserBulkCreateResultDTO.created(0, "john@example.com", 1L),
+                    UserBulkCreateResultDTO.duplicate(1, "john@example.com"))));
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkRequest)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created", is(1)))
+        .andExpect(jsonPath("$.failed", is(1)))
+        .andExpect(jsonPath("$.results[0].id", is(1)))
+        .andExpect(jsonPath("$.results[1].status", is("DUPLICATE_EMAIL")));
+  }
+
+  @Test
+  void testBulkCreateUsers_ShouldReturnBadRequest_WhenARowIsInvalid() throws Exception {
+    final UserBulkCreateRequestDTO bulkRequest =
+        new UserBulkCreateRequestDTO(
+            List.of(createRequest, new UserCreateRequestDTO("John Doe", "", "password123")));
+
+    mockMvc
+        .perform(
+            post("/api/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkRequest)))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void testGetUsers_ShouldReturnUser() throws Exception {
     // Given
@@ -151,7 +331,8 @@ class UserControllerTest {
     final Page<User> userPage = new PageImpl<>(users);
     final PaginatedResponseDTO<UserResponseDTO> paginatedResponseDTO =
         PaginatedResponseDTO.of(userPage, UserResponseDTO.class);
-    when(userService.getUsers(page - 1, size, orderBy)).thenReturn(paginatedResponseDTO);
+    when(userService.getTaggedUsers(page - 1, size, orderBy, TotalMode.EXACT))
+        .thenReturn(new ETagged<>(paginatedResponseDTO, "\"p1-abc-def\""));
 
     // When & Then
     mockMvc
@@ -173,7 +354,75 @@ class UserControllerTest {
                 "$.pageSize",
                 is(1))); // Should be 10, but due to mock userPage, so we just assert it with 1
 
-    verify(userService, times(1)).getUsers(0, 10, "id");
+    verify(userService, times(1)).getTaggedUsers(0, 10, "id", TotalMode.EXACT);
+  }
+
+  @Test
+  void testGetUsers_WithUnknownTotalMode_ShouldReturnBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/api/users").param("totalMode", "approximate"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testGetUsersByCursor_ShouldReturnNextCursor() throws Exception {
+    // Given
+    final User user = User.builder().email("john@example.com").name("john_doe").build();
+    user.setId(1L);
+    final CursorPaginatedResponseDTO<UserResponseDTO> cursorPage =
+        CursorPaginatedResponseDTO.of(
+            List.of(UserResponseDTO.of(user, UserResponseDTO.class)), 1, "next");
+    when(userService.getTaggedUsersByCursor(null, 1, "-id"))
+        .thenReturn(new ETagged<>(cursorPage, "\"p1-abc-def\""));
+
+    // When & Then
+    mockMvc
+        .perform(
+            get("/api/users")
+                .param("mode", "cursor")
+                .param("size", "1")
+                .param("orderBy", "-id")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[0].id", is(1)))
+        .andExpect(jsonPath("$.nextCursor", is("next")))
+        .andExpect(jsonPath("$.lastPage", is(false)));
+
+    verify(userService, times(1)).getTaggedUsersByCursor(null, 1, "-id");
+  }
+
+  @Test
+  void testExportUsers_ShouldStreamServiceOutput() throws Exception {
+    // Given
+    doAnswer(
+            invocation -> {
+              final OutputStream out = invocation.getArgument(1);
+              out.write("id,name\n1,john_doe\n".getBytes(StandardCharsets.UTF_8));
+              return 1L;
+            })
+        .when(userExportService)
+        .export(eq(ExportFormat.CSV), any(OutputStream.class));
+
+    // When
+    final MvcResult result =
+        mockMvc
+            .perform(get("/api/users/export").param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    // Then
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "text/csv"))
+        .andExpect(content().string("id,name\n1,john_doe\n"));
+  }
+
+  @Test
+  void testExportUsers_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/api/users/export").param("format", "xml"))
+        .andExpect(status().isBadRequest());
   }
 
   @Test
@@ -183,7 +432,8 @@ class UserControllerTest {
     user.setId(1L);
     final UserResponseDTO userResponseDTO = UserResponseDTO.of(user, UserResponseDTO.class);
 
-    when(userService.updateUser(1L, updateRequest)).thenReturn(userResponseDTO);
+    when(userService.updateTaggedUser(1L, updateRequest, null))
+        .thenReturn(new ETagged<>(userResponseDTO, "\"1-1\""));
 
     // When & Then
     mockMvc
@@ -192,11 +442,12 @@ class UserControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateRequest)))
         .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""))
         .andExpect(jsonPath("$.id", is(1)))
         .andExpect(jsonPath("$.name", is("john_doe")))
         .andExpect(jsonPath("$.email", is("john@example.com")));
 
-    verify(userService, times(1)).updateUser(1L, updateRequest);
+    verify(userService, times(1)).updateTaggedUser(1L, updateRequest, null);
   }
 
   @Test
@@ -216,7 +467,8 @@ class UserControllerTest {
   @Test
   void testUpdateUser_ShouldReturnNotFound_WhenUserDoesNotExist() throws Exception {
     // Given
-    when(userService.updateUser(2L, updateRequest)).thenThrow(new UserNotFoundException(2L));
+    when(userService.updateTaggedUser(2L, updateRequest, null))
+        .thenThrow(new UserNotFoundException(2L));
 
     // When & Then
     mockMvc
@@ -227,9 +479,64 @@ class UserControllerTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  void testUpdateUser_ShouldPassIfMatchVersion() throws Exception {
+    // Given
+    final User user = User.builder().email("john@example.com").name("john_dee").build();
+    user.setId(1L);
+    when(userService.updateTaggedUser(1L, updateRequest, 4L))
+        .thenReturn(new ETagged<>(UserResponseDTO.of(user, UserResponseDTO.class), "\"1-5\""));
+
+    // When & Then
+    mockMvc
+        .perform(
+            put("/api/users/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1-5\""));
+
+    verify(userService, times(1)).updateTaggedUser(1L, updateRequest, 4L);
+  }
+
+  @Test
+  void testUpdateUser_ShouldReturnPreconditionFailed_WhenVersionIsStale() throws Exception {
+    // Given
+    when(userService.updateTaggedUser(1L, updateRequest, 3L))
+        .thenThrow(new PreconditionFailedException());
+
+    // When & Then
+    mockMvc
+        .perform(
+            put("/api/users/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void testDeleteUser_ShouldReturnPreconditionFailed_WhenETagIsForAnotherUser() throws Exception {
+    mockMvc
+        .perform(delete("/api/users/1").header(HttpHeaders.IF_MATCH, "\"2-3\""))
+        .andExpect(status().isPreconditionFailed());
+
+    verify(userService, never()).deleteUser(any(), any());
+  }
+
+  @Test
+  void testDeleteUser_ShouldReturnNoContent() throws Exception {
+    mockMvc.perform(delete("/api/users/1")).andExpect(status().isNoContent());
+
+    verify(userService, times(1)).deleteUser(1L, null);
+  }
+
   @Test
   void testDeleteUser_ShouldReturnNotFound_WhenUserDoesNotExist() throws Exception {
     // Given
+    doThrow(new UserNotFoundException(2L)).when(userService).deleteUser(2L, null);
+
     // When & Then
     mockMvc
         .perform(delete("/api/users/2").contentType(MediaType.APPLICATION_JSON))
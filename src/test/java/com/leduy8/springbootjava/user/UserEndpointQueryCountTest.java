@@ -0,0 +1,343 @@
+package com.leduy8.springbootjava.user;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.core.QueryCountExtension;
+import com.leduy8.springbootjava.core.QueryCountExtension.StatementKind;
+import com.leduy8.springbootjava.core.utils.JwtUtil;
+import com.leduy8.springbootjava.user.dto.ExportFormat;
+import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.repository.UserRepository;
+import com.leduy8.springbootjava.user.service.RegisteredEmailFilter;
+import com.leduy8.springbootjava.user.service.UserExportService;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Pins the statements each user and auth endpoint runs on H2, so a change that adds database work
+ * to a request fails here instead of showing up as latency. Caches are emptied before every test,
+ * so the counts are for a cold request unless the test warms them itself.
+ */
+// Not transactional: each request must commit and flush on its own, as it does in production.
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class UserEndpointQueryCountTest {
+
+  @RegisterExtension final QueryCountExtension queries = new QueryCountExtension();
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private UserExportService userExportService;
+
+  @Autowired private RegisteredEmailFilter registeredEmailFilter;
+
+  @Autowired private PrincipalCache principalCache;
+
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @Autowired private JwtUtil jwtUtil;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private User user;
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    user =
+        userRepository.save(
+            User.builder()
+                .name("Counted")
+                .email("counted@email.com")
+                .password(passwordEncoder.encode("mypassword"))
+                .build());
+    token = "Bearer " + jwtUtil.generateToken(user.getEmail());
+    registeredEmailFilter.rebuild();
+    entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    principalCache.getCache().invalidateAll();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'counted%@email.com'");
+    jdbcTemplate.update("DELETE FROM cache_invalidations");
+  }
+
+  @Test
+  void login_ShouldLoadTheUserOnce() throws Exception {
+    mockMvc
+        .perform(
+            json(
+                post("/api/auth/login"),
+                "{\"email\":\"counted@email.com\",\"password\":\"mypassword\"}"))
+        .andExpect(status().isOk());
+
+    queries.assertCounts(1, 0, 0, 0);
+  }
+
+  @Test
+  void login_WhenEmailIsUnknown_ShouldNotQuery() throws Exception {
+    mockMvc
+        .perform(
+            json(
+                post("/api/auth/login"),
+                "{\"email\":\"counted-nobody@email.com\",\"password\":\"mypassword\"}"))
+        .andExpect(status().isUnauthorized());
+
+    queries.assertCounts(0, 0, 0, 0);
+  }
+
+  @Test
+  void login_WhenEmailWasRegisteredOnAnotherNode_ShouldSucceedAfterTheNextSync() throws Exception {
+    // Given: a row another node inserted, picked up by the scheduled filter sync
+    jdbcTemplate.update(
+        "INSERT INTO users (id, name, email, password, is_deleted, created_at, updated_at, version)"
+            + " VALUES (NEXT VALUE FOR users_seq, ?, ?, ?, false, ?, ?, 0)",
+        "Elsewhere",
+        "counted-elsewhere@email.com",
+        passwordEncoder.encode("mypassword"),
+        LocalDateTime.now(),
+        LocalDateTime.now());
+    registeredEmailFilter.sync();
+    queries.reset();
+
+    // When & Then
+    mockMvc
+        .perform(
+            json(
+                post("/api/auth/login"),
+                "{\"email\":\"counted-elsewhere@email.com\",\"password\":\"mypassword\"}"))
+        .andExpect(status().isOk());
+
+    queries.assertCounts(1, 0, 0, 0);
+  }
+
+  @Test
+  void createUser_ShouldKeepOtherUsersCached() throws Exception {
+    final Long other = cachedOtherUser();
+
+    mockMvc
+        .perform(
+            json(
+                post("/api/users"),
+                "{\"name\":\"New\",\"email\":\"counted-new@email.com\",\"password\":\"mypassword\"}"))
+        .andExpect(status().isOk());
+
+    assertTrue(secondLevelCache().containsEntity(User.class, other));
+  }
+
+  @Test
+  void createUser_ShouldInsertInOneStatement() throws Exception {
+    mockMvc
+        .perform(
+            json(
+                post("/api/users"),
+                "{\"name\":\"New\",\"email\":\"counted-new@email.com\",\"password\":\"mypassword\"}"))
+        .andExpect(status().isOk());
+
+    // H2 wraps the insert in SELECT ... FROM FINAL TABLE, so its one statement counts as a SELECT.
+    queries.assertCounts(1, 0, 0, 0);
+  }
+
+  @Test
+  void bulkCreateUsers_ShouldNotQueryPerUser() throws Exception {
+    final StringBuilder users = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      users
+          .append(i == 0 ? "" : ",")
+          .append("{\"name\":\"Bulk\",\"email\":\"counted-bulk")
+          .append(i)
+          .append("@email.com\",\"password\":\"mypassword\"}");
+    }
+
+    mockMvc
+        .perform(json(authorized(post("/api/users/bulk")), "{\"users\":[" + users + "]}"))
+        .andExpect(status().isOk());
+
+    // The principal, one IN lookup of taken emails, and one JDBC batch for the inserts.
+    queries.assertCounts(2, 1, 0, 0);
+  }
+
+  @Test
+  void getUserById_ShouldTagTheRowItLoads() throws Exception {
+    mockMvc.perform(authorized(get("/api/users/{id}", user.getId()))).andExpect(status().isOk());
+
+    // The principal, then the row, whose version becomes the ETag.
+    queries.assertCounts(2, 0, 0, 0);
+  }
+
+  @Test
+  void getUserById_WhenNotModified_ShouldOnlyCheckTheVersion() throws Exception {
+    final String etag =
+        mockMvc
+            .perform(authorized(get("/api/users/{id}", user.getId())))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    queries.reset();
+
+    mockMvc
+        .perform(
+            authorized(get("/api/users/{id}", user.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    queries.assertCounts(1, 0, 0, 0);
+  }
+
+  @Test
+  void getUsers_WhenFirstPageIsShort_ShouldSkipTheCount() throws Exception {
+    mockMvc.perform(authorized(get("/api/users").param("size", "20"))).andExpect(status().isOk());
+
+    // The principal and the page; a short first page needs no count query.
+    queries.assertCounts(2, 0, 0, 0);
+  }
+
+  @Test
+  void getUsers_WhenTotalIsExact_ShouldCountOnce() throws Exception {
+    userRepository.save(
+        User.builder()
+            .name("Counted")
+            .email("counted-second@email.com")
+            .password("mypassword")
+            .build());
+    queries.reset();
+
+    mockMvc.perform(authorized(get("/api/users").param("size", "1"))).andExpect(status().isOk());
+
+    // The principal, the page, and one count for its totals.
+    queries.assertCounts(3, 0, 0, 0);
+  }
+
+  @Test
+  void getUsers_WhenNotModified_ShouldOnlyReadVersions() throws Exception {
+    final String etag =
+        mockMvc
+            .perform(authorized(get("/api/users").param("size", "20")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    queries.reset();
+
+    mockMvc
+        .perform(
+            authorized(get("/api/users").param("size", "20"))
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    queries.assertCounts(1, 0, 0, 0);
+  }
+
+  @Test
+  void getUsers_WhenTotalIsEstimated_ShouldCountAtMostOnce() throws Exception {
+    mockMvc
+        .perform(authorized(get("/api/users").param("size", "20").param("totalMode", "estimated")))
+        .andExpect(status().isOk());
+
+    // Whichever request finds the estimate stale refreshes it, so allow that one count.
+    queries.assertAtMost(StatementKind.SELECT, 3);
+    queries.assertCount(StatementKind.INSERT, 0);
+  }
+
+  @Test
+  void getUsersByCursor_ShouldFetchOnePage() throws Exception {
+    mockMvc
+        .perform(authorized(get("/api/users").param("mode", "cursor").param("size", "20")))
+        .andExpect(status().isOk());
+
+    queries.assertCounts(2, 0, 0, 0);
+  }
+
+  @Test
+  void exportUsers_ShouldStreamFromOneQuery() throws Exception {
+    // MockMvc writes a StreamingResponseBody on another thread, so count the body's work here.
+    userExportService.export(ExportFormat.NDJSON, OutputStream.nullOutputStream());
+
+    queries.assertCounts(1, 0, 0, 0);
+  }
+
+  @Test
+  void updateUser_ShouldUpdateInOneStatement() throws Exception {
+    mockMvc
+        .perform(json(authorized(put("/api/users/{id}", user.getId())), "{\"name\":\"Renamed\"}"))
+        .andExpect(status().isOk());
+
+    // The principal, the row, its versioned update, and the invalidation.
+    queries.assertCounts(2, 1, 1, 0);
+  }
+
+  @Test
+  void updateUser_ShouldKeepOtherUsersCached() throws Exception {
+    final Long other = cachedOtherUser();
+
+    mockMvc
+        .perform(json(authorized(put("/api/users/{id}", user.getId())), "{\"name\":\"Renamed\"}"))
+        .andExpect(status().isOk());
+
+    assertTrue(secondLevelCache().containsEntity(User.class, other));
+  }
+
+  @Test
+  void deleteUser_ShouldSoftDeleteInOneUpdate() throws Exception {
+    mockMvc
+        .perform(authorized(delete("/api/users/{id}", user.getId())))
+        .andExpect(status().isNoContent());
+
+    // The principal, the row, its versioned soft delete, and the invalidation.
+    queries.assertCounts(2, 1, 1, 0);
+  }
+
+  private Long cachedOtherUser() {
+    final User other =
+        userRepository.save(
+            User.builder()
+                .name("Other")
+                .email("counted-other@email.com")
+                .password("mypassword")
+                .build());
+    userRepository.findByIdAndIsDeletedFalse(other.getId());
+    assertTrue(secondLevelCache().containsEntity(User.class, other.getId()));
+    return other.getId();
+  }
+
+  private Cache secondLevelCache() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+  }
+
+  private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+    return request.header(HttpHeaders.AUTHORIZATION, token);
+  }
+
+  private static MockHttpServletRequestBuilder json(
+      MockHttpServletRequestBuilder request, String body) {
+    return request.contentType(MediaType.APPLICATION_JSON).content(body);
+  }
+}
@@ -2,20 +2,37 @@ package com.leduy8.springbootjava.user;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.core.dto.CursorPaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.ETagged;
 import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.core.exception.PreconditionFailedException;
+import com.leduy8.springbootjava.core.utils.ETagUtil;
+import com.leduy8.springbootjava.user.dto.ExportFormat;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResponseDTO;
+import com.leduy8.springbootjava.user.dto.UserBulkCreateResultDTO;
 import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
 import com.leduy8.springbootjava.user.dto.UserResponseDTO;
 import com.leduy8.springbootjava.user.dto.UserUpdateRequestDTO;
+import com.leduy8.springbootjava.user.exception.EmailAlreadyExistsException;
 import com.leduy8.springbootjava.user.exception.UserNotFoundException;
 import com.leduy8.springbootjava.user.model.User;
 import com.leduy8.springbootjava.user.repository.UserRepository;
+import com.leduy8.springbootjava.user.service.RegisteredEmailFilter;
+import com.leduy8.springbootjava.user.service.UserExportService;
+import com.leduy8.springbootjava.user.service.UserImportService;
 import com.leduy8.springbootjava.user.service.UserServiceImpl;
 import jakarta.transaction.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +49,14 @@ public class UserServiceIntegrationTest {
 
   @Autowired private UserServiceImpl userService;
 
+  @Autowired private PrincipalCache principalCache;
+
+  @Autowired private UserExportService userExportService;
+
+  @Autowired private UserImportService userImportService;
+
+  @Autowired private RegisteredEmailFilter registeredEmailFilter;
+
   private User testUser;
 
   private UserCreateRequestDTO createRequest;
@@ -56,9 +81,40 @@ public class UserServiceIntegrationTest {
     final UserResponseDTO result = userService.createUser(createRequest);
 
     assertNotNull(result);
+    assertNotNull(result.getId());
     assertTrue(userService.existsByEmail(createRequest.email()));
   }
 
+  @Test
+  void createUser_WhenEmailIsTaken_ShouldThrowEmailAlreadyExistsException() {
+    userService.createUser(createRequest);
+
+    assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(createRequest));
+  }
+
+  @Test
+  void registeredEmailFilter_ShouldPickUpEmailsInsertedOutsideTheService() {
+    registeredEmailFilter.rebuild();
+    final User user = _createTestUser(testUser);
+    userRepository.flush();
+
+    assertTrue(registeredEmailFilter.sync() >= 1);
+    assertTrue(registeredEmailFilter.mightContain(user.getEmail()));
+    assertFalse(registeredEmailFilter.mightContain("never-registered@email.com"));
+  }
+
+  @Test
+  void insertIfEmailAbsent_WhenEmailIsTaken_ShouldReturnEmpty() {
+    final User user = _createTestUser(testUser);
+    userRepository.flush();
+
+    final Optional<User> result =
+        userRepository.insertIfEmailAbsent(
+            User.builder().name("Racer").email(user.getEmail()).password("mypassword").build());
+
+    assertTrue(result.isEmpty());
+  }
+
   @Test
   void getUserById_WhenUserExists_ShouldReturnUserResponseDTO() {
     final User user = _createTestUser(testUser);
@@ -71,15 +127,16 @@ public class UserServiceIntegrationTest {
   }
 
   @Test
-  void getUserById_WhenUserDoesNotExist_ShouldThrowUserNotFoundException() {
-    assertThrows(UserNotFoundException.class, () -> userService.getUserById(1L));
+  void getUserById_WhenUserDoesNotExist_ShouldReturnEmpty() {
+    assertTrue(userService.getUserById(1L).isEmpty());
   }
 
   @Test
   void getUsers_ShouldReturnPaginatedResponse() {
     final User user = _createTestUser(testUser);
 
-    final PaginatedResponseDTO<UserResponseDTO> result = userService.getUsers(0, 10, "id");
+    final PaginatedResponseDTO<UserResponseDTO> result =
+        userService.getUsers(0, 10, "id", TotalMode.EXACT);
 
     assertNotNull(result);
     assertEquals(1, result.getTotalPages());
@@ -95,7 +152,7 @@ public class UserServiceIntegrationTest {
 
     assertNotNull(result);
     assertEquals(user.getId(), result.getId());
-    assertEquals(user.getName(), result.getName());
+    assertEquals(updateRequest.name(), result.getName());
     assertEquals(user.getEmail(), result.getEmail());
   }
 
@@ -104,6 +161,31 @@ public class UserServiceIntegrationTest {
     assertThrows(UserNotFoundException.class, () -> userService.updateUser(1L, updateRequest));
   }
 
+  @Test
+  void updateUser_WhenVersionIsStale_ShouldThrowPreconditionFailedException() {
+    final User user = _createTestUser(testUser);
+    userRepository.flush();
+    userService.updateUser(user.getId(), updateRequest, 0L);
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> userService.updateUser(user.getId(), updateRequest, 0L));
+    assertThrows(PreconditionFailedException.class, () -> userService.deleteUser(user.getId(), 0L));
+    userService.deleteUser(user.getId(), 1L);
+  }
+
+  @Test
+  void updateTaggedUser_ShouldTagTheWrittenVersion() {
+    final User user = _createTestUser(testUser);
+    userRepository.flush();
+
+    final ETagged<UserResponseDTO> result =
+        userService.updateTaggedUser(user.getId(), updateRequest, 0L);
+
+    assertEquals(ETagUtil.of(user.getId(), 1L), result.etag());
+    assertEquals(result.etag(), userService.getUserETag(user.getId()));
+  }
+
   @Test
   void existsByEmail_ShouldReturnTrueWhenEmailExists() {
     final User user = _createTestUser(testUser);
@@ -125,11 +207,166 @@ public class UserServiceIntegrationTest {
 
     userService.deleteUser(user.getId());
 
-    assertThrows(UserNotFoundException.class, () -> userService.getUserById(user.getId()));
+    assertTrue(userService.getUserById(user.getId()).isEmpty());
   }
 
   @Test
   void deleteUser_WhenUserDoesNotExist_ShouldThrowUserNotFoundException() {
     assertThrows(UserNotFoundException.class, () -> userService.deleteUser(1L));
   }
+
+  @Test
+  void deleteUser_WhenPrincipalIsCached_ShouldRevokeIt() {
+    final User user = _createTestUser(testUser);
+    assertTrue(principalCache.get(user.getEmail()).isPresent());
+
+    userService.deleteUser(user.getId());
+
+    assertFalse(principalCache.get(user.getEmail()).isPresent());
+  }
+
+  @Test
+  void getUsersByCursor_ShouldWalkAllPagesInSortOrder() {
+    for (final String name : List.of("Carol", "Alice", "Bob", "Alice")) {
+      _createTestUser(
+          User.builder()
+              .name(name)
+              .email(name.toLowerCase() + System.nanoTime() + "@example.com")
+              .password("mypassword")
+              .build());
+    }
+
+    final CursorPaginatedResponseDTO<UserResponseDTO> first =
+        userService.getUsersByCursor(null, 3, "name");
+    final CursorPaginatedResponseDTO<UserResponseDTO> second =
+        userService.getUsersByCursor(first.getNextCursor(), 3, "name");
+
+    assertEquals(
+        List.of("Alice", "Alice", "Bob"),
+        first.getData().stream().map(UserResponseDTO::getName).toList());
+    assertFalse(first.isLastPage());
+    assertEquals(
+        List.of("Carol"), second.getData().stream().map(UserResponseDTO::getName).toList());
+    assertTrue(second.isLastPage());
+  }
+
+  @Test
+  void getUsersByCursor_WithDescendingOrder_ShouldWalkBackwards() {
+    final User older = _createTestUser(testUser);
+    final User newer =
+        _createTestUser(
+            User.builder().name("Newer").email("newer@email.com").password("mypassword").build());
+
+    final CursorPaginatedResponseDTO<UserResponseDTO> first =
+        userService.getUsersByCursor(null, 1, "-id");
+    final CursorPaginatedResponseDTO<UserResponseDTO> second =
+        userService.getUsersByCursor(first.getNextCursor(), 1, "-id");
+
+    assertEquals(newer.getId(), first.getData().get(0).getId());
+    assertEquals(older.getId(), second.getData().get(0).getId());
+  }
+
+  @Test
+  void export_AsNdjson_ShouldWriteOneLinePerActiveUser() throws Exception {
+    final User user = _createTestUser(testUser);
+    final User deleted =
+        _createTestUser(
+            User.builder().name("Gone").email("gone@email.com").password("mypassword").build());
+    userService.deleteUser(deleted.getId());
+    userRepository.flush();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long rows = userExportService.export(ExportFormat.NDJSON, out);
+
+    final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(1, rows);
+    assertEquals(1, lines.length);
+    assertTrue(lines[0].startsWith("{\"id\":" + user.getId() + ",\"name\":\"Test User\""));
+    assertFalse(lines[0].contains("password"));
+  }
+
+  @Test
+  void export_AsCsv_ShouldQuoteFieldsThatNeedIt() throws Exception {
+    _createTestUser(
+        User.builder().name("Doe, \"JD\"").email("jd@email.com").password("mypassword").build());
+    userRepository.flush();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    userExportService.export(ExportFormat.CSV, out);
+
+    final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals("id,name,email,createdAt,updatedAt", lines[0]);
+    assertTrue(lines[1].contains(",\"Doe, \"\"JD\"\"\",jd@email.com,"));
+  }
+
+  @Test
+  void bulkCreateUsers_ShouldReportDuplicatesWithoutFailingTheBatch() {
+    final User existing = _createTestUser(testUser);
+    final List<UserCreateRequestDTO> requests =
+        List.of(
+            new UserCreateRequestDTO("First", "first@example.com", "password"),
+            new UserCreateRequestDTO("Existing", existing.getEmail(), "password"),
+            new UserCreateRequestDTO("Second", "second@example.com", "password"),
+            new UserCreateRequestDTO("Repeat", "first@example.com", "password"));
+
+    final UserBulkCreateResponseDTO result = userImportService.bulkCreateUsers(requests);
+
+    assertEquals(2, result.created());
+    assertEquals(2, result.failed());
+    assertEquals(
+        List.of(
+            UserBulkCreateResultDTO.Status.CREATED,
+            UserBulkCreateResultDTO.Status.DUPLICATE_EMAIL,
+            UserBulkCreateResultDTO.Status.CREATED,
+            UserBulkCreateResultDTO.Status.DUPLICATE_EMAIL),
+        result.results().stream().map(UserBulkCreateResultDTO::status).toList());
+    assertNotNull(result.results().get(0).id());
+    assertTrue(userService.existsByEmail("second@example.com"));
+  }
+
+  @Test
+  void getUserETag_ShouldChangeWhenUserIsUpdated() {
+    final User user = _createTestUser(testUser);
+    userRepository.flush();
+    final String before = userService.getUserETag(user.getId());
+
+    userService.updateUser(user.getId(), updateRequest);
+    userRepository.flush();
+
+    assertNotEquals(before, userService.getUserETag(user.getId()));
+  }
+
+  @Test
+  void getUsersETag_ShouldChangeWhenARowLeavesThePage() {
+    final User first = _createTestUser(testUser);
+    _createTestUser(
+        User.builder().name("Second").email("second@email.com").password("mypassword").build());
+    userRepository.flush();
+    final String before = userService.getUsersETag(0, 10, "id", TotalMode.NONE);
+    assertEquals(before, userService.getUsersETag(0, 10, "id", TotalMode.NONE));
+
+    userService.deleteUser(first.getId());
+    userRepository.flush();
+
+    assertNotEquals(before, userService.getUsersETag(0, 10, "id", TotalMode.NONE));
+  }
+
+  @Test
+  void getTaggedUsers_ShouldCarryTheTagsTheVersionQueriesCompute() {
+    final User user = _createTestUser(testUser);
+    _createTestUser(
+        User.builder().name("Second").email("second@email.com").password("mypassword").build());
+    userRepository.flush();
+
+    assertEquals(
+        userService.getUserETag(user.getId()), userService.getTaggedUserById(user.getId()).etag());
+    for (TotalMode totalMode : TotalMode.values()) {
+      assertEquals(
+          userService.getUsersETag(0, 1, "id", totalMode),
+          userService.getTaggedUsers(0, 1, "id", totalMode).etag());
+    }
+    assertEquals(
+        userService.getUsersByCursorETag(null, 1, "-id"),
+        userService.getTaggedUsersByCursor(null, 1, "-id").etag());
+  }
 }
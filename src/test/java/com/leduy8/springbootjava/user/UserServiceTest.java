@@ -3,22 +3,35 @@ package com.leduy8.springbootjava.user;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.leduy8.springbootjava.auth.cache.PrincipalCache;
+import com.leduy8.springbootjava.core.cache.CacheInvalidationBus;
 import com.leduy8.springbootjava.core.dto.PaginatedResponseDTO;
+import com.leduy8.springbootjava.core.dto.TotalMode;
+import com.leduy8.springbootjava.core.exception.InvalidRequestParameterException;
+import com.leduy8.springbootjava.core.exception.PreconditionFailedException;
+import com.leduy8.springbootjava.core.utils.CursorUtil;
 import com.leduy8.springbootjava.user.dto.UserCreateRequestDTO;
 import com.leduy8.springbootjava.user.dto.UserResponseDTO;
 import com.leduy8.springbootjava.user.dto.UserUpdateRequestDTO;
+import com.leduy8.springbootjava.user.exception.EmailAlreadyExistsException;
 import com.leduy8.springbootjava.user.exception.UserNotFoundException;
 import com.leduy8.springbootjava.user.model.User;
+import com.leduy8.springbootjava.user.model.UserView;
 import com.leduy8.springbootjava.user.repository.UserRepository;
+import com.leduy8.springbootjava.user.service.RegisteredEmailFilter;
+import com.leduy8.springbootjava.user.service.UserCountEstimator;
 import com.leduy8.springbootjava.user.service.UserServiceImpl;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -34,7 +47,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -45,9 +60,18 @@ public class UserServiceTest {
 
   @Mock private PasswordEncoder passwordEncoder;
 
+  @Mock private PrincipalCache principalCache;
+
+  @Mock private UserCountEstimator userCountEstimator;
+
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
+
+  @Mock private RegisteredEmailFilter registeredEmailFilter;
+
   @InjectMocks private UserServiceImpl userService;
 
   private User testUser;
+  private UserView testUserView;
   private UserCreateRequestDTO createRequest;
   private UserUpdateRequestDTO updateRequest;
 
@@ -62,6 +86,14 @@ public class UserServiceTest {
     testUser.setId(1L);
     testUser.setCreatedAt(LocalDateTime.now());
     testUser.setUpdatedAt(LocalDateTime.now());
+    testUserView =
+        new UserView(
+            testUser.getId(),
+            testUser.getName(),
+            testUser.getEmail(),
+            testUser.getCreatedAt(),
+            testUser.getUpdatedAt(),
+            testUser.getVersion());
 
     createRequest = new UserCreateRequestDTO("Test User", "test@example.com", "password123");
     updateRequest = new UserUpdateRequestDTO("Updated User");
@@ -70,7 +102,7 @@ public class UserServiceTest {
   @Test
   void createUser_ShouldReturnUserResponseDTO() {
     when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-    when(userRepository.save(any(User.class))).thenReturn(testUser);
+    when(userRepository.insertIfEmailAbsent(any(User.class))).thenReturn(Optional.of(testUser));
 
     final UserResponseDTO result = userService.createUser(createRequest);
 
@@ -79,13 +111,55 @@ public class UserServiceTest {
     assertEquals(testUser.getName(), result.getName());
     assertEquals(testUser.getEmail(), result.getEmail());
     verify(passwordEncoder).encode("password123");
-    verify(userRepository).save(any(User.class));
+    verify(userRepository).insertIfEmailAbsent(any(User.class));
+    verify(userRepository, never()).existsByEmail(anyString());
+    verify(registeredEmailFilter).add("test@example.com");
+    verify(userCountEstimator).recordCreated(1);
+  }
+
+  @Test
+  void createUser_WhenFilterReportsAFalsePositive_ShouldRecordIt() {
+    // Given
+    when(registeredEmailFilter.mightContain("test@example.com")).thenReturn(true);
+    when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+    when(userRepository.insertIfEmailAbsent(any(User.class))).thenReturn(Optional.of(testUser));
+
+    // When
+    userService.createUser(createRequest);
+
+    // Assert
+    verify(userRepository).existsByEmail("test@example.com");
+    verify(registeredEmailFilter).recordFalsePositive();
+  }
+
+  @Test
+  void createUser_WhenEmailExists_ShouldThrowBeforeHashing() {
+    // Given
+    when(registeredEmailFilter.mightContain("test@example.com")).thenReturn(true);
+    when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+
+    // When & Assert
+    assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(createRequest));
+    verify(passwordEncoder, never()).encode(anyString());
+    verify(userRepository, never()).insertIfEmailAbsent(any(User.class));
+  }
+
+  @Test
+  void createUser_WhenInsertLosesTheRace_ShouldThrowEmailAlreadyExistsException() {
+    // Given
+    when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+    when(userRepository.insertIfEmailAbsent(any(User.class))).thenReturn(Optional.empty());
+
+    // When & Assert
+    assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(createRequest));
+    verify(userCountEstimator, never()).recordCreated(anyInt());
   }
 
   @Test
   void getUserById_WhenUserExists_ShouldReturnUserResponseDTO() {
     // Given
-    when(userRepository.findByIdAndIsDeletedFalse(anyLong())).thenReturn(Optional.of(testUser));
+    when(userRepository.findViewByIdAndIsDeletedFalse(anyLong()))
+        .thenReturn(Optional.of(testUserView));
 
     // When
     final Optional<UserResponseDTO> result = userService.getUserById(1L);
@@ -95,60 +169,63 @@ public class UserServiceTest {
     assertEquals(testUser.getId(), result.get().getId());
     assertEquals(testUser.getName(), result.get().getName());
     assertEquals(testUser.getEmail(), result.get().getEmail());
-    verify(userRepository).findByIdAndIsDeletedFalse(1L);
+    verify(userRepository).findViewByIdAndIsDeletedFalse(1L);
   }
 
   @Test
-  void getUserById_WhenUserDoesNotExist_ShouldThrowUserNotFoundException() {
+  void getUserById_WhenUserDoesNotExist_ShouldReturnEmpty() {
     // Given
-    when(userRepository.findByIdAndIsDeletedFalse(anyLong())).thenReturn(Optional.empty());
+    when(userRepository.findViewByIdAndIsDeletedFalse(anyLong())).thenReturn(Optional.empty());
+
+    // When & Assert
+    assertTrue(userService.getUserById(1L).isEmpty());
+    verify(userRepository).findViewByIdAndIsDeletedFalse(1L);
+  }
+
+  @Test
+  void getTaggedUserById_WhenUserDoesNotExist_ShouldThrowUserNotFoundException() {
+    // Given
+    when(userRepository.findViewByIdAndIsDeletedFalse(anyLong())).thenReturn(Optional.empty());
 
     // When & Assert
-    assertThrows(UserNotFoundException.class, () -> userService.getUserById(1L));
-    verify(userRepository).findByIdAndIsDeletedFalse(1L);
+    assertThrows(UserNotFoundException.class, () -> userService.getTaggedUserById(1L));
   }
 
   @Test
   void getUsers_ShouldReturnPaginatedResponse() {
     // Given
-    final List<User> users = Arrays.asList(testUser);
-    final Page<User> page = new PageImpl<>(users);
-    when(userRepository.findAllByIsDeletedFalse(any(Pageable.class))).thenReturn(page);
+    final List<UserView> users = Arrays.asList(testUserView);
+    final Page<UserView> page = new PageImpl<>(users);
+    when(userRepository.findViewsByIsDeletedFalse(any(Pageable.class))).thenReturn(page);
 
     // When
-    final PaginatedResponseDTO<UserResponseDTO> result = userService.getUsers(0, 10, "id");
+    final PaginatedResponseDTO<UserResponseDTO> result =
+        userService.getUsers(0, 10, "id", TotalMode.EXACT);
 
     // Assert
     assertNotNull(result);
     assertEquals(1, result.getTotalPages());
     assertEquals(1, result.getData().size());
     assertEquals(testUser.getId(), result.getData().get(0).getId());
-    verify(userRepository).findAllByIsDeletedFalse(any(Pageable.class));
+    verify(userRepository).findViewsByIsDeletedFalse(any(Pageable.class));
   }
 
   @Test
   void updateUser_WhenUserExists_ShouldReturnUpdatedUserResponseDTO() {
-    final User updatedUser =
-        User.builder()
-            .name("Updated User")
-            .email("test@example.com")
-            .password("encodedPassword")
-            .build();
-    updatedUser.setId(1L);
-    updatedUser.setCreatedAt(testUser.getCreatedAt());
-    updatedUser.setUpdatedAt(LocalDateTime.now());
-
-    when(userRepository.findByIdAndIsDeletedFalse(anyLong())).thenReturn(Optional.of(testUser));
-    when(userRepository.save(any(User.class))).thenReturn(updatedUser);
+    // Given
+    when(userRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testUser));
 
+    // When
     final UserResponseDTO result = userService.updateUser(1L, updateRequest);
 
+    // Assert
     assertNotNull(result);
-    assertEquals(updatedUser.getId(), result.getId());
-    assertEquals(updatedUser.getName(), result.getName());
-    assertEquals(updatedUser.getEmail(), result.getEmail());
-    verify(userRepository).findByIdAndIsDeletedFalse(1L);
-    verify(userRepository).save(any(User.class));
+    assertEquals(1L, result.getId());
+    assertEquals("Updated User", result.getName());
+    assertEquals("test@example.com", result.getEmail());
+    verify(userRepository).flush();
+    verify(principalCache).invalidateById(1L);
+    verify(cacheInvalidationBus).publish(User.class, 1L);
   }
 
   @Test
@@ -158,8 +235,33 @@ public class UserServiceTest {
 
     // When & Assert
     assertThrows(UserNotFoundException.class, () -> userService.updateUser(1L, updateRequest));
-    verify(userRepository).findByIdAndIsDeletedFalse(1L);
-    verify(userRepository, never()).save(any(User.class));
+    verify(principalCache, never()).invalidateById(anyLong());
+  }
+
+  @Test
+  void updateUser_WhenVersionIsStale_ShouldThrowPreconditionFailedException() {
+    // Given
+    when(userRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testUser));
+
+    // When & Assert
+    assertThrows(
+        PreconditionFailedException.class, () -> userService.updateUser(1L, updateRequest, 3L));
+    assertEquals("Test User", testUser.getName());
+    verify(cacheInvalidationBus, never()).publish(any(), any());
+  }
+
+  @Test
+  void updateUser_WhenAnotherWriterWinsTheRace_ShouldThrowPreconditionFailedException() {
+    // Given
+    when(userRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testUser));
+    doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L))
+        .when(userRepository)
+        .flush();
+
+    // When & Assert
+    assertThrows(
+        PreconditionFailedException.class, () -> userService.updateUser(1L, updateRequest, 0L));
+    verify(principalCache, never()).invalidateById(anyLong());
   }
 
   @Test
@@ -191,15 +293,17 @@ public class UserServiceTest {
   @Test
   void deleteUser_WhenUserExists_ShouldSoftDeleteUser() {
     // Given
-    when(userRepository.findByIdAndIsDeletedFalse(anyLong())).thenReturn(Optional.of(testUser));
-    when(userRepository.save(any(User.class))).thenReturn(testUser);
+    when(userRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testUser));
 
     // When
     userService.deleteUser(1L);
 
     // Assert
-    verify(userRepository).findByIdAndIsDeletedFalse(1L);
-    verify(userRepository).save(testUser);
+    assertTrue(testUser.isDeleted());
+    verify(userRepository).flush();
+    verify(principalCache).invalidateById(1L);
+    verify(cacheInvalidationBus).publish(User.class, 1L);
+    verify(userCountEstimator).recordDeleted();
   }
 
   @Test
@@ -209,8 +313,17 @@ public class UserServiceTest {
 
     // When & Assert
     assertThrows(UserNotFoundException.class, () -> userService.deleteUser(1L));
-    verify(userRepository).findByIdAndIsDeletedFalse(1L);
-    verify(userRepository, never()).save(any(User.class));
+    verify(userCountEstimator, never()).recordDeleted();
+  }
+
+  @Test
+  void deleteUser_WhenVersionIsStale_ShouldThrowPreconditionFailedException() {
+    // Given
+    when(userRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testUser));
+
+    // When & Assert
+    assertThrows(PreconditionFailedException.class, () -> userService.deleteUser(1L, 3L));
+    assertFalse(testUser.isDeleted());
   }
 
   @Test
@@ -228,15 +341,67 @@ public class UserServiceTest {
   @Test
   void getUsers_WithDescendingOrder_ShouldPassCorrectSortDirection() {
     // Given
-    final List<User> users = Arrays.asList(testUser);
-    final Page<User> page = new PageImpl<>(users);
-    when(userRepository.findAllByIsDeletedFalse(any(Pageable.class))).thenReturn(page);
+    final List<UserView> users = Arrays.asList(testUserView);
+    final Page<UserView> page = new PageImpl<>(users);
+    when(userRepository.findViewsByIsDeletedFalse(any(Pageable.class))).thenReturn(page);
 
     // When
-    userService.getUsers(0, 10, "-id");
+    userService.getUsers(0, 10, "-id", TotalMode.EXACT);
 
     // Then
     verify(userRepository)
-        .findAllByIsDeletedFalse(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+        .findViewsByIsDeletedFalse(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+  }
+
+  @Test
+  void getUsersByCursor_WithUnsupportedOrderBy_ShouldThrowInvalidRequestParameterException() {
+    assertThrows(
+        InvalidRequestParameterException.class,
+        () -> userService.getUsersByCursor(null, 10, "password"));
+  }
+
+  @Test
+  void getUsersByCursor_WithCursorFromAnotherOrder_ShouldThrowInvalidRequestParameterException() {
+    final String cursor = CursorUtil.encode("name", "Test User", 1L);
+
+    assertThrows(
+        InvalidRequestParameterException.class,
+        () -> userService.getUsersByCursor(cursor, 10, "email"));
+  }
+
+  @Test
+  void getUsers_WithEstimatedTotal_ShouldSkipCountQuery() {
+    // Given
+    final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+    when(userRepository.findViewSliceByIsDeletedFalse(pageable))
+        .thenReturn(new SliceImpl<>(List.of(testUserView), pageable, false));
+    when(userCountEstimator.estimate()).thenReturn(42L);
+
+    // When
+    final PaginatedResponseDTO<UserResponseDTO> result =
+        userService.getUsers(0, 10, "id", TotalMode.ESTIMATED);
+
+    // Then
+    assertEquals(42L, result.getTotalItems());
+    assertEquals(5, result.getTotalPages());
+    verify(userRepository, never()).findViewsByIsDeletedFalse(any(Pageable.class));
+  }
+
+  @Test
+  void getUsers_WithoutTotal_ShouldOnlyReportLastPage() {
+    // Given
+    final Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+    when(userRepository.findViewSliceByIsDeletedFalse(pageable))
+        .thenReturn(new SliceImpl<>(List.of(testUserView), pageable, true));
+
+    // When
+    final PaginatedResponseDTO<UserResponseDTO> result =
+        userService.getUsers(0, 1, "id", TotalMode.NONE);
+
+    // Then
+    assertNull(result.getTotalItems());
+    assertNull(result.getTotalPages());
+    assertFalse(result.isLastPage());
+    verify(userRepository, never()).findViewsByIsDeletedFalse(any(Pageable.class));
   }
 }